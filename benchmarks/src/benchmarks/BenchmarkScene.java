@@ -0,0 +1,39 @@
+package benchmarks;
+
+import primitives.Point;
+import primitives.Vector;
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+import scene.Scene;
+
+/**
+ * A scene of the benchmark catalog, together with the view of its camera
+ *
+ * @param name       the name of the scene, which is also the name of its image
+ * @param complexity the complexity parameter that the scene was created with
+ * @param scene      the scene
+ * @param position   the position of the camera
+ * @param to         the direction the camera is facing
+ * @param up         the up direction of the camera
+ * @param vpDistance the distance of the view plane from the camera
+ * @param vpSize     the width and height of the view plane
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public record BenchmarkScene(String name, int complexity, Scene scene, Point position, Vector to, Vector up,
+                             double vpDistance, double vpSize) {
+
+    /**
+     * Creates a camera of the scene's view, which renders a square image by a basic ray tracer
+     *
+     * @param resolution the width and height of the image in pixels
+     * @return the camera, without progress printing
+     */
+    public Camera camera(int resolution) {
+        return new Camera(position, to, up)
+                .setVPDistance(vpDistance).setVPSize(vpSize, vpSize)
+                .setImageWriter(new ImageWriter(name, resolution, resolution))
+                .setRayTracer(new RayTracerBasic(scene))
+                .setDebugPrint(0);
+    }
+}
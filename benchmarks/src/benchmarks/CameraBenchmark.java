@@ -0,0 +1,90 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import renderer.Camera;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of rendering a small image of the spheres scene of the {@link SceneCatalog} by every threading mode of the camera
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CameraBenchmark {
+
+    /**
+     * width and height of the rendered image in pixels
+     */
+    private static final int RESOLUTION = 128;
+
+    /**
+     * amount of rendering threads in the multi-threaded modes
+     */
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * the threading mode - single (the calling thread), threads (the camera's own threads),
+     * forkJoin (a fork-join pool) or executor (tasks in a fixed thread pool)
+     */
+    @Param({"single", "threads", "forkJoin", "executor"})
+    public String mode;
+
+    /**
+     * the rendering camera
+     */
+    private Camera camera;
+
+    /**
+     * the fork-join pool of the forkJoin mode
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * the thread pool of the executor mode
+     */
+    private ExecutorService executor;
+
+    /**
+     * Creates the camera of the threading mode
+     */
+    @Setup
+    public void setup() {
+        camera = SceneCatalog.create("spheres").camera(RESOLUTION);
+        switch (mode) {
+            case "single" -> {
+            }
+            case "threads" -> camera.setMultithreading(THREADS);
+            case "forkJoin" -> camera.setForkJoinPool(forkJoinPool = new ForkJoinPool(THREADS));
+            case "executor" -> camera.setExecutor(executor = Executors.newFixedThreadPool(THREADS), THREADS);
+            default -> throw new IllegalArgumentException("There is no threading mode " + mode);
+        }
+    }
+
+    /**
+     * Shuts down the pools of the threading mode
+     */
+    @TearDown
+    public void tearDown() {
+        if (forkJoinPool != null)
+            forkJoinPool.shutdown();
+        if (executor != null)
+            executor.shutdown();
+    }
+
+    /**
+     * @return the camera after rendering the image
+     */
+    @Benchmark
+    public Camera renderImage() {
+        return camera.renderImage();
+    }
+}
@@ -0,0 +1,184 @@
+package benchmarks;
+
+import geometries.*;
+import geometries.Intersectable.GeoPoint;
+import org.openjdk.jmh.annotations.*;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the intersections of rays with the geometries, and of the traversal of collections of geometries
+ * of several sizes
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeometriesBenchmark {
+
+    /**
+     * ray that hits all the single geometries
+     */
+    private final Ray hit = new Ray(new Point(0.1, 0.2, 10), new Vector(0, 0, -1));
+
+    /**
+     * ray that misses all the single geometries
+     */
+    private final Ray miss = new Ray(new Point(5, 5, 10), new Vector(0, 0, -1));
+
+    /**
+     * sphere around the origin
+     */
+    private final Sphere sphere = new Sphere(Point.ZERO, 1);
+
+    /**
+     * plane through the origin
+     */
+    private final Plane plane = new Plane(Point.ZERO, new Vector(0, 0, 1));
+
+    /**
+     * square around the origin
+     */
+    private final Polygon polygon = new Polygon(new Point(-1, -1, 0), new Point(1, -1, 0),
+            new Point(1, 1, 0), new Point(-1, 1, 0));
+
+    /**
+     * triangle around the origin
+     */
+    private final Triangle triangle = new Triangle(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(0, 1, 0));
+
+    /**
+     * @return the intersections of a ray with the sphere
+     */
+    @Benchmark
+    public List<GeoPoint> sphereHit() {
+        return sphere.findGeoIntersections(hit);
+    }
+
+    /**
+     * @return the intersections of a ray that misses the sphere
+     */
+    @Benchmark
+    public List<GeoPoint> sphereMiss() {
+        return sphere.findGeoIntersections(miss);
+    }
+
+    /**
+     * @return the intersections of a ray with the plane
+     */
+    @Benchmark
+    public List<GeoPoint> planeHit() {
+        return plane.findGeoIntersections(hit);
+    }
+
+    /**
+     * @return the intersections of a ray with the polygon
+     */
+    @Benchmark
+    public List<GeoPoint> polygonHit() {
+        return polygon.findGeoIntersections(hit);
+    }
+
+    /**
+     * @return the intersections of a ray that misses the polygon
+     */
+    @Benchmark
+    public List<GeoPoint> polygonMiss() {
+        return polygon.findGeoIntersections(miss);
+    }
+
+    /**
+     * @return the intersections of a ray with the triangle
+     */
+    @Benchmark
+    public List<GeoPoint> triangleHit() {
+        return triangle.findGeoIntersections(hit);
+    }
+
+    /**
+     * @return the intersections of a ray that misses the triangle
+     */
+    @Benchmark
+    public List<GeoPoint> triangleMiss() {
+        return triangle.findGeoIntersections(miss);
+    }
+
+    /**
+     * @return the closest intersection of the next ray with the collection of spheres
+     */
+    @Benchmark
+    public GeoPoint geometriesClosest(Collection collection) {
+        return collection.geometries.findClosestGeoIntersection(collection.nextRay());
+    }
+
+    /**
+     * @return all the intersections of the next ray with the collection of spheres
+     */
+    @Benchmark
+    public List<GeoPoint> geometriesAll(Collection collection) {
+        return collection.geometries.findGeoIntersections(collection.nextRay());
+    }
+
+    /**
+     * A collection of randomly placed spheres with a bounding volume hierarchy, and rays towards them
+     */
+    @State(Scope.Thread)
+    public static class Collection {
+
+        /**
+         * amount of spheres in the collection
+         */
+        @Param({"10", "100", "1000"})
+        public int size;
+
+        /**
+         * the collection of spheres
+         */
+        private Geometries geometries;
+
+        /**
+         * rays from the origin in random directions towards the spheres
+         */
+        private Ray[] rays;
+
+        /**
+         * index of the next ray
+         */
+        private int next = 0;
+
+        /**
+         * Creates the spheres and the rays, with a fixed seed so that every run has the same work
+         */
+        @Setup
+        public void setup() {
+            SplittableRandom random = new SplittableRandom(17);
+            geometries = new Geometries();
+            for (int i = 0; i < size; ++i)
+                geometries.add(new Sphere(new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100),
+                        random.nextDouble(-300, -100)), random.nextDouble(1, 10)));
+            geometries.setBoundingBoxEnabled(true);
+            geometries.buildBVH();
+
+            rays = new Ray[1024];
+            for (int i = 0; i < rays.length; ++i)
+                rays[i] = new Ray(Point.ZERO,
+                        new Vector(random.nextDouble(-0.5, 0.5), random.nextDouble(-0.5, 0.5), -1));
+        }
+
+        /**
+         * @return the next ray, in a cycle over the rays
+         */
+        private Ray nextRay() {
+            return rays[next++ & (rays.length - 1)];
+        }
+    }
+}
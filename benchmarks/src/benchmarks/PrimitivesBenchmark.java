@@ -0,0 +1,108 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the arithmetic of points and vectors
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitivesBenchmark {
+
+    /**
+     * first vector of the operations
+     */
+    private Vector v1;
+
+    /**
+     * second vector of the operations
+     */
+    private Vector v2;
+
+    /**
+     * first point of the operations
+     */
+    private Point p1;
+
+    /**
+     * second point of the operations
+     */
+    private Point p2;
+
+    /**
+     * Creates the operands - not as constants, so that the operations are not folded by the compiler
+     */
+    @Setup
+    public void setup() {
+        v1 = new Vector(1, 2, 3);
+        v2 = new Vector(-2, 0.5, 4);
+        p1 = new Point(1, -1, 2);
+        p2 = new Point(3, 4, -5);
+    }
+
+    /**
+     * @return the sum of a point and a vector
+     */
+    @Benchmark
+    public Point pointAdd() {
+        return p1.add(v1);
+    }
+
+    /**
+     * @return the vector between two points
+     */
+    @Benchmark
+    public Vector pointSubtract() {
+        return p2.subtract(p1);
+    }
+
+    /**
+     * @return the distance between two points
+     */
+    @Benchmark
+    public double pointDistance() {
+        return p1.distance(p2);
+    }
+
+    /**
+     * @return the vector scaled by a number
+     */
+    @Benchmark
+    public Vector vectorScale() {
+        return v1.scale(2.5);
+    }
+
+    /**
+     * @return the dot product of two vectors
+     */
+    @Benchmark
+    public double vectorDotProduct() {
+        return v1.dotProduct(v2);
+    }
+
+    /**
+     * @return the cross product of two vectors
+     */
+    @Benchmark
+    public Vector vectorCrossProduct() {
+        return v1.crossProduct(v2);
+    }
+
+    /**
+     * @return the normalized vector
+     */
+    @Benchmark
+    public Vector vectorNormalize() {
+        return v1.normalize();
+    }
+}
@@ -0,0 +1,317 @@
+package benchmarks;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RegressionGate checks the renderer against a stored baseline of the {@link SceneCatalog} scenes.<br/>
+ * With --record it renders the scenes by the {@link RenderRunner} and stores their times and ray counts
+ * as a baseline JSON report, and their images as reference images.
+ * Otherwise it renders the scenes again and fails if a scene became slower than its baseline time
+ * by more than the tolerance, if the ray counts of a scene changed, or if an image differs from its reference.
+ * A faster renderer that changes the image fails the gate just as a slower one.<br/>
+ * Usage: {@code RegressionGate [options] [render runner options]}, where the options are
+ * <ul>
+ * <li>--baseline file - the baseline JSON report (default baseline/baseline.json)</li>
+ * <li>--references directory - the directory of the reference images (default: the directory of the baseline)</li>
+ * <li>--record - store a new baseline instead of checking against the stored one</li>
+ * <li>--tolerance fraction - the allowed slowdown of a scene (default 0.1, i.e. 10%)</li>
+ * <li>--pixel-tolerance n - the allowed difference of a color channel of a pixel (default 0)</li>
+ * </ul>
+ * The times are compared by the fastest run of every scene, which is the least noisy measurement.
+ * The images of the checked renderings are written into the images directory,
+ * together with a difference image of every scene whose image changed.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public final class RegressionGate {
+
+    /**
+     * Directory into which the camera writes the images
+     */
+    private static final String IMAGES = System.getProperty("user.dir") + "/images";
+
+    /**
+     * Pattern of a number or string field of a JSON object written by {@link RenderRunner.Result#toJson()}
+     */
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\": (\"[^\"]*\"|[-\\d.eE]+)");
+
+    /**
+     * The measurements of a scene, of its fastest run
+     *
+     * @param scene          the name of the scene
+     * @param complexity     the complexity of the scene
+     * @param resolution     the width and height of the image in pixels
+     * @param spp            samples per pixel
+     * @param seconds        the time of the fastest rendering in seconds
+     * @param primaryRays    the amount of primary rays
+     * @param shadowRays     the amount of shadow rays
+     * @param reflectionRays the amount of reflection rays
+     * @param refractionRays the amount of refraction rays
+     */
+    public record Timing(String scene, int complexity, int resolution, int spp, double seconds,
+                         long primaryRays, long shadowRays, long reflectionRays, long refractionRays) {
+
+        /**
+         * Checks whether two measurements are of the same rendering work
+         *
+         * @param other the other measurement
+         * @return true if the scenes, settings and ray counts are equal
+         */
+        public boolean sameWork(Timing other) {
+            return sameSettings(other) && primaryRays == other.primaryRays && shadowRays == other.shadowRays
+                    && reflectionRays == other.reflectionRays && refractionRays == other.refractionRays;
+        }
+
+        /**
+         * Checks whether two measurements are of the same scene and settings
+         *
+         * @param other the other measurement
+         * @return true if the scenes, complexities, resolutions and samples per pixel are equal
+         */
+        public boolean sameSettings(Timing other) {
+            return scene.equals(other.scene) && complexity == other.complexity
+                    && resolution == other.resolution && spp == other.spp;
+        }
+    }
+
+    /**
+     * The comparison of an image with its reference
+     *
+     * @param pixels        the amount of pixels that differ by more than the pixel tolerance
+     * @param maxDifference the largest difference of a color channel
+     */
+    public record ImageDiff(long pixels, int maxDifference) {
+    }
+
+    /**
+     * private constructor - the class has only static methods
+     */
+    private RegressionGate() {
+    }
+
+    /**
+     * Summarizes the measurements of renderings by the fastest run of every scene
+     *
+     * @param results the measurements
+     * @return the measurements of the fastest runs, by scene name in the order of the results
+     */
+    public static Map<String, Timing> fastest(List<RenderRunner.Result> results) {
+        Map<String, Timing> timings = new LinkedHashMap<>();
+        for (RenderRunner.Result result : results) {
+            Timing timing = new Timing(result.scene(), result.complexity(), result.resolution(), result.spp(),
+                    result.seconds(), result.stats().getPrimaryRays(), result.stats().getShadowRays(),
+                    result.stats().getReflectionRays(), result.stats().getRefractionRays());
+            timings.merge(timing.scene(), timing, (a, b) -> a.seconds() <= b.seconds() ? a : b);
+        }
+        return timings;
+    }
+
+    /**
+     * Reads the measurements of a JSON report written by {@link RenderRunner#toJson(List)},
+     * summarized by the fastest run of every scene
+     *
+     * @param json the JSON report
+     * @return the measurements of the fastest runs, by scene name in the order of the report
+     * @throws IllegalArgumentException if a result of the report misses a field
+     */
+    public static Map<String, Timing> parse(String json) {
+        Map<String, Timing> timings = new LinkedHashMap<>();
+        // every result is written as a JSON object in a line of its own
+        for (String line : json.split("\\R")) {
+            if (!line.contains("\"scene\""))
+                continue;
+            Map<String, String> fields = new HashMap<>();
+            Matcher matcher = FIELD.matcher(line);
+            while (matcher.find())
+                fields.put(matcher.group(1), matcher.group(2).replace("\"", ""));
+            try {
+                Timing timing = new Timing(fields.get("scene"), Integer.parseInt(fields.get("complexity")),
+                        Integer.parseInt(fields.get("resolution")), Integer.parseInt(fields.get("spp")),
+                        Double.parseDouble(fields.get("seconds")), Long.parseLong(fields.get("primaryRays")),
+                        Long.parseLong(fields.get("shadowRays")), Long.parseLong(fields.get("reflectionRays")),
+                        Long.parseLong(fields.get("refractionRays")));
+                timings.merge(timing.scene(), timing, (a, b) -> a.seconds() <= b.seconds() ? a : b);
+            } catch (NullPointerException | NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong benchmark result: " + line.trim(), e);
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * Compares an image with its reference pixel by pixel
+     *
+     * @param image          the image
+     * @param reference      the reference image
+     * @param pixelTolerance the allowed difference of a color channel of a pixel
+     * @param diff           an image of the same size, into which the differing pixels are marked in red
+     *                       over a dimmed copy of the image, or null if not required
+     * @return the comparison
+     * @throws IllegalArgumentException if the images are not of the same size
+     */
+    public static ImageDiff compare(BufferedImage image, BufferedImage reference, int pixelTolerance,
+                                    BufferedImage diff) {
+        if (image.getWidth() != reference.getWidth() || image.getHeight() != reference.getHeight())
+            throw new IllegalArgumentException("The image and its reference are not of the same size");
+        long pixels = 0;
+        int maxDifference = 0;
+        for (int y = 0; y < image.getHeight(); ++y)
+            for (int x = 0; x < image.getWidth(); ++x) {
+                int rgb = image.getRGB(x, y), ref = reference.getRGB(x, y);
+                int difference = 0;
+                for (int shift = 0; shift < 24; shift += 8)
+                    difference = Math.max(difference, Math.abs((rgb >> shift & 0xFF) - (ref >> shift & 0xFF)));
+                maxDifference = Math.max(maxDifference, difference);
+                boolean differs = difference > pixelTolerance;
+                if (differs)
+                    ++pixels;
+                if (diff != null)
+                    diff.setRGB(x, y, differs ? 0xFF0000 : rgb >> 2 & 0x3F3F3F);
+            }
+        return new ImageDiff(pixels, maxDifference);
+    }
+
+    /**
+     * Records a baseline or checks the renderer against it, by the command line options
+     *
+     * @param args the command line options
+     * @throws IOException if the baseline or the images can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path baseline = Path.of("baseline", "baseline.json");
+        Path references = null;
+        boolean record = false;
+        double tolerance = 0.1;
+        int pixelTolerance = 0;
+        List<String> runnerArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "--baseline" -> baseline = Path.of(value(args, ++i));
+                case "--references" -> references = Path.of(value(args, ++i));
+                case "--record" -> record = true;
+                case "--tolerance" -> tolerance = Double.parseDouble(value(args, ++i));
+                case "--pixel-tolerance" -> pixelTolerance = Integer.parseInt(value(args, ++i));
+                case "--output", "--images" ->
+                        throw new IllegalArgumentException("The gate chooses the output itself: " + args[i]);
+                default -> runnerArgs.add(args[i]);
+            }
+        }
+        if (tolerance < 0 || pixelTolerance < 0)
+            throw new IllegalArgumentException("Tolerances must not be negative");
+        if (references == null)
+            references = baseline.toAbsolutePath().getParent();
+
+        runnerArgs.add("--images");
+        RenderRunner.Settings settings = RenderRunner.Settings.parse(runnerArgs.toArray(new String[0]));
+        Files.createDirectories(Path.of(IMAGES));
+        List<RenderRunner.Result> results = RenderRunner.run(settings);
+
+        if (record) {
+            Files.createDirectories(references);
+            if (baseline.toAbsolutePath().getParent() != null)
+                Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.writeString(baseline, RenderRunner.toJson(results));
+            for (String scene : settings.scenes())
+                Files.copy(Path.of(IMAGES, scene + ".png"), references.resolve(scene + ".png"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded the baseline of " + settings.scenes().size() + " scenes in " + baseline);
+            return;
+        }
+
+        if (!check(parse(Files.readString(baseline)), fastest(results), references, tolerance, pixelTolerance))
+            System.exit(1);
+    }
+
+    /**
+     * Checks the measurements and the images of renderings against the baseline and prints a report of the scenes
+     *
+     * @param baseline       the measurements of the baseline, by scene name
+     * @param timings        the measurements of the renderings, by scene name
+     * @param references     the directory of the reference images
+     * @param tolerance      the allowed slowdown of a scene, as a fraction of its baseline time
+     * @param pixelTolerance the allowed difference of a color channel of a pixel
+     * @return true if all the scenes passed the gate
+     * @throws IOException if an image can't be read or written
+     */
+    private static boolean check(Map<String, Timing> baseline, Map<String, Timing> timings, Path references,
+                                 double tolerance, int pixelTolerance) throws IOException {
+        boolean passed = true;
+        System.out.printf("%-12s %10s %10s %8s  %s%n", "scene", "baseline", "current", "change", "result");
+        for (Timing timing : timings.values()) {
+            Timing base = baseline.get(timing.scene());
+            List<String> failures = new ArrayList<>();
+            if (base == null)
+                failures.add("no baseline");
+            else if (!base.sameSettings(timing))
+                failures.add("baseline of other settings");
+            else {
+                if (timing.seconds() > base.seconds() * (1 + tolerance))
+                    failures.add("slower");
+                if (!base.sameWork(timing))
+                    failures.add("ray counts changed");
+                failures.addAll(checkImage(timing.scene(), references, pixelTolerance));
+            }
+
+            passed &= failures.isEmpty();
+            System.out.printf(Locale.ROOT, "%-12s %9.3fs %9.3fs %+7.1f%%  %s%n", timing.scene(),
+                    base == null ? Double.NaN : base.seconds(), timing.seconds(),
+                    base == null ? Double.NaN : 100 * (timing.seconds() / base.seconds() - 1),
+                    failures.isEmpty() ? "ok" : String.join(", ", failures));
+        }
+        System.out.println(passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+
+    /**
+     * Compares the image of a scene with its reference, and writes a difference image if they differ
+     *
+     * @param scene          the name of the scene
+     * @param references     the directory of the reference images
+     * @param pixelTolerance the allowed difference of a color channel of a pixel
+     * @return the failures of the image - empty if the image matches its reference
+     * @throws IOException if an image can't be read or written
+     */
+    private static List<String> checkImage(String scene, Path references, int pixelTolerance) throws IOException {
+        File referenceFile = references.resolve(scene + ".png").toFile();
+        if (!referenceFile.exists())
+            return List.of("no reference image");
+        BufferedImage image = ImageIO.read(new File(IMAGES, scene + ".png"));
+        BufferedImage reference = ImageIO.read(referenceFile);
+        if (image.getWidth() != reference.getWidth() || image.getHeight() != reference.getHeight())
+            return List.of("image size changed");
+
+        BufferedImage diff = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        ImageDiff imageDiff = compare(image, reference, pixelTolerance, diff);
+        File diffFile = new File(IMAGES, scene + "-diff.png");
+        if (imageDiff.pixels() == 0) {
+            // a difference image of an earlier check is no longer relevant
+            Files.deleteIfExists(diffFile.toPath());
+            return List.of();
+        }
+        ImageIO.write(diff, "png", diffFile);
+        return List.of(String.format("%d pixels changed (max %d)", imageDiff.pixels(), imageDiff.maxDifference()));
+    }
+
+    /**
+     * Returns the value of an option
+     *
+     * @param args  the options
+     * @param index the index of the value
+     * @return the value
+     * @throws IllegalArgumentException if the value is missing
+     */
+    private static String value(String[] args, int index) {
+        if (index >= args.length)
+            throw new IllegalArgumentException("Missing value of option " + args[index - 1]);
+        return args[index];
+    }
+}
@@ -0,0 +1,214 @@
+package benchmarks;
+
+import renderer.Camera;
+import renderer.RenderStats;
+import renderer.SamplePatterns;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * RenderRunner renders scenes of the {@link SceneCatalog} without a test framework or a window,
+ * and reports the times and the ray counts of the renderings in JSON.<br/>
+ * Usage: {@code RenderRunner [options]}, where the options are
+ * <ul>
+ * <li>--scenes name,name,... - the rendered scenes (default: all the scenes of the catalog)</li>
+ * <li>--complexity n - the complexity of the scenes (default: the default complexity of every scene)</li>
+ * <li>--resolution n - the width and height of the images in pixels (default 256)</li>
+ * <li>--spp n - samples per pixel, rounded up to a square of jittered samples (default 1)</li>
+ * <li>--threads n - rendering threads, 0 for the calling thread (default 0)</li>
+ * <li>--warmup n - renderings of every scene before the measured ones (default 1)</li>
+ * <li>--repeat n - measured renderings of every scene (default 3)</li>
+ * <li>--output file - the file of the JSON report (default: the standard output)</li>
+ * <li>--images - write the image of the last rendering of every scene into the images directory</li>
+ * </ul>
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public final class RenderRunner {
+
+    /**
+     * The settings of the renderings
+     *
+     * @param scenes     the names of the rendered scenes
+     * @param complexity the complexity of the scenes, 0 for the default complexity of every scene
+     * @param resolution the width and height of the images in pixels
+     * @param spp        samples per pixel
+     * @param threads    rendering threads, 0 for the calling thread
+     * @param warmup     renderings of every scene before the measured ones
+     * @param repeat     measured renderings of every scene
+     * @param images     true to write the image of the last rendering of every scene
+     */
+    public record Settings(List<String> scenes, int complexity, int resolution, int spp, int threads,
+                           int warmup, int repeat, boolean images) {
+
+        /**
+         * Constructor that checks the settings
+         *
+         * @throws IllegalArgumentException if a setting is out of its range or a scene is not in the catalog
+         */
+        public Settings {
+            for (String scene : scenes)
+                if (!SceneCatalog.NAMES.contains(scene))
+                    throw new IllegalArgumentException("There is no benchmark scene " + scene);
+            if (complexity < 0 || resolution <= 0 || spp <= 0 || threads < 0 || warmup < 0 || repeat <= 0)
+                throw new IllegalArgumentException("Wrong render runner settings");
+            scenes = List.copyOf(scenes);
+        }
+
+        /**
+         * Parses the settings from command line options
+         *
+         * @param args the options
+         * @return the settings
+         * @throws IllegalArgumentException if an option is unknown or its value is wrong
+         */
+        public static Settings parse(String... args) {
+            List<String> scenes = SceneCatalog.NAMES;
+            int complexity = 0, resolution = 256, spp = 1, threads = 0, warmup = 1, repeat = 3;
+            boolean images = false;
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "--scenes" -> scenes = Arrays.asList(value(args, ++i).split(","));
+                    case "--complexity" -> complexity = Integer.parseInt(value(args, ++i));
+                    case "--resolution" -> resolution = Integer.parseInt(value(args, ++i));
+                    case "--spp" -> spp = Integer.parseInt(value(args, ++i));
+                    case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt(value(args, ++i));
+                    case "--repeat" -> repeat = Integer.parseInt(value(args, ++i));
+                    case "--images" -> images = true;
+                    case "--output" -> ++i;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            return new Settings(scenes, complexity, resolution, spp, threads, warmup, repeat, images);
+        }
+
+        /**
+         * Returns the value of an option
+         *
+         * @param args  the options
+         * @param index the index of the value
+         * @return the value
+         * @throws IllegalArgumentException if the value is missing
+         */
+        private static String value(String[] args, int index) {
+            if (index >= args.length)
+                throw new IllegalArgumentException("Missing value of option " + args[index - 1]);
+            return args[index];
+        }
+    }
+
+    /**
+     * The measurements of a rendering
+     *
+     * @param scene      the name of the scene
+     * @param complexity the complexity of the scene
+     * @param resolution the width and height of the image in pixels
+     * @param spp        samples per pixel
+     * @param threads    rendering threads
+     * @param run        the number of the measured rendering of the scene, from 0
+     * @param stats      the statistics of the rendering
+     */
+    public record Result(String scene, int complexity, int resolution, int spp, int threads, int run,
+                         RenderStats stats) {
+
+        /**
+         * getter
+         *
+         * @return the time of the rendering in seconds
+         */
+        public double seconds() {
+            return stats.getElapsed() / 1e9;
+        }
+
+        /**
+         * Writes the result as a JSON object
+         *
+         * @return the JSON object
+         */
+        public String toJson() {
+            return String.format(Locale.ROOT, "{\"scene\": \"%s\", \"complexity\": %d, \"resolution\": %d, "
+                            + "\"spp\": %d, \"threads\": %d, \"run\": %d, \"seconds\": %.6f, "
+                            + "\"primaryRays\": %d, \"shadowRays\": %d, \"reflectionRays\": %d, "
+                            + "\"refractionRays\": %d, \"raysPerSecond\": %.0f}",
+                    scene, complexity, resolution, spp, threads, run, seconds(), stats.getPrimaryRays(),
+                    stats.getShadowRays(), stats.getReflectionRays(), stats.getRefractionRays(),
+                    stats.getRaysPerSecond());
+        }
+    }
+
+    /**
+     * private constructor - the class has only static methods
+     */
+    private RenderRunner() {
+    }
+
+    /**
+     * Renders the scenes of the settings
+     *
+     * @param settings the settings of the renderings
+     * @return the measurements of the measured renderings, scene after scene
+     */
+    public static List<Result> run(Settings settings) {
+        List<Result> results = new ArrayList<>();
+        // spp is rounded up to a square grid of samples
+        int side = (int) Math.ceil(Math.sqrt(settings.spp()));
+        int spp = side * side;
+        for (String name : settings.scenes()) {
+            BenchmarkScene scene = settings.complexity() == 0
+                    ? SceneCatalog.create(name) : SceneCatalog.create(name, settings.complexity());
+            Camera camera = scene.camera(settings.resolution()).setMultithreading(settings.threads());
+            if (side > 1)
+                camera.setSuperSampling(side).setSamplePattern(SamplePatterns.JITTERED);
+
+            for (int i = 0; i < settings.warmup(); ++i)
+                camera.renderImage();
+            camera.setStatistics(true);
+            for (int run = 0; run < settings.repeat(); ++run)
+                results.add(new Result(name, scene.complexity(), settings.resolution(), spp, settings.threads(),
+                        run, camera.renderImage().getRenderStats()));
+            if (settings.images())
+                camera.writeToImage();
+        }
+        return results;
+    }
+
+    /**
+     * Writes the measurements of renderings as a JSON report
+     *
+     * @param results the measurements
+     * @return the JSON report - an object with the environment of the renderings and an array of the results
+     */
+    public static String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT, "{%n  \"java\": \"%s\",%n  \"processors\": %d,%n  \"results\": [",
+                System.getProperty("java.version"), Runtime.getRuntime().availableProcessors()));
+        for (int i = 0; i < results.size(); ++i)
+            json.append(i == 0 ? "" : ",").append(String.format("%n    ")).append(results.get(i).toJson());
+        return json.append(String.format("%n  ]%n}%n")).toString();
+    }
+
+    /**
+     * Renders the scenes of the command line options and writes the JSON report
+     *
+     * @param args the command line options
+     * @throws IOException if the report can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        Settings settings = Settings.parse(args);
+        List<Result> results = run(settings);
+        for (Result result : results)
+            System.err.printf(Locale.ROOT, "%-12s run %d: %8.3f s, %,.0f rays/s%n", result.scene(), result.run(),
+                    result.seconds(), result.stats().getRaysPerSecond());
+
+        String json = toJson(results);
+        int output = Arrays.asList(args).indexOf("--output");
+        if (output >= 0 && output + 1 < args.length)
+            Files.writeString(Path.of(args[output + 1]), json);
+        else
+            System.out.print(json);
+    }
+}
@@ -0,0 +1,290 @@
+package benchmarks;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.DirectionalLight;
+import lighting.PointLight;
+import lighting.SpotLight;
+import primitives.*;
+import scene.Scene;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static java.awt.Color.ORANGE;
+import static java.awt.Color.WHITE;
+
+/**
+ * SceneCatalog is the catalog of the named benchmark scenes. Every scene stresses another part of the renderer,
+ * and has a complexity parameter that scales its work:
+ * <ul>
+ * <li>everything - the scene of all the effects of ReflectionRefractionTests (the complexity is not used)</li>
+ * <li>mesh - a torus mesh of complexity x 2*complexity squares, 2 triangles each</li>
+ * <li>lights - spheres on a floor, lit by complexity point lights</li>
+ * <li>reflection - complexity spheres between two facing mirrors</li>
+ * <li>transparent - a stack of complexity transparent squares in front of a sphere</li>
+ * <li>spheres - complexity spheres in a bounding volume hierarchy</li>
+ * </ul>
+ * The scenes are created with fixed seeds, so a scene of a name and complexity is the same in every run.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public final class SceneCatalog {
+
+    /**
+     * the names of the scenes of the catalog
+     */
+    public static final List<String> NAMES = List.of("everything", "mesh", "lights", "reflection", "transparent",
+            "spheres");
+
+    /**
+     * private constructor - the class has only static methods
+     */
+    private SceneCatalog() {
+    }
+
+    /**
+     * Returns the default complexity of a scene
+     *
+     * @param name the name of the scene
+     * @return the default complexity of the scene
+     * @throws IllegalArgumentException if there is no scene of the name
+     */
+    public static int defaultComplexity(String name) {
+        return switch (name) {
+            case "everything" -> 1;
+            case "mesh" -> 64;
+            case "lights" -> 16;
+            case "reflection" -> 3;
+            case "transparent" -> 8;
+            case "spheres" -> 1000;
+            default -> throw new IllegalArgumentException("There is no benchmark scene " + name);
+        };
+    }
+
+    /**
+     * Creates a scene of the catalog with its default complexity
+     *
+     * @param name the name of the scene
+     * @return the scene
+     * @throws IllegalArgumentException if there is no scene of the name
+     */
+    public static BenchmarkScene create(String name) {
+        return create(name, defaultComplexity(name));
+    }
+
+    /**
+     * Creates a scene of the catalog
+     *
+     * @param name       the name of the scene
+     * @param complexity the complexity of the scene
+     * @return the scene
+     * @throws IllegalArgumentException if there is no scene of the name or the complexity is not positive
+     */
+    public static BenchmarkScene create(String name, int complexity) {
+        if (complexity <= 0)
+            throw new IllegalArgumentException("Scene complexity must be positive");
+        return switch (name) {
+            case "everything" -> everything();
+            case "mesh" -> mesh(complexity);
+            case "lights" -> lights(complexity);
+            case "reflection" -> reflection(complexity);
+            case "transparent" -> transparent(complexity);
+            case "spheres" -> spheres(complexity);
+            default -> throw new IllegalArgumentException("There is no benchmark scene " + name);
+        };
+    }
+
+    /**
+     * Creates a scene builder of a benchmark scene, with a dim white ambient light and bounding boxes
+     *
+     * @param name the name of the scene
+     * @return the scene builder
+     */
+    private static Scene.SceneBuilder builder(String name) {
+        return new Scene.SceneBuilder(name)
+                .setAmbientLight(new AmbientLight(new Color(WHITE), 0.15))
+                .setBoundingBoxes(true);
+    }
+
+    /**
+     * Creates a camera view from the front of the scene
+     *
+     * @param name       the name of the scene
+     * @param complexity the complexity of the scene
+     * @param scene      the scene
+     * @param z          the distance of the camera in front of the origin
+     * @param vpSize     the width and height of the view plane
+     * @return the scene with its view
+     */
+    private static BenchmarkScene front(String name, int complexity, Scene scene, double z, double vpSize) {
+        return new BenchmarkScene(name, complexity, scene, new Point(0, 0, z), new Vector(0, 0, -1),
+                new Vector(0, 1, 0), z, vpSize);
+    }
+
+    /**
+     * The scene of all the effects of ReflectionRefractionTests
+     *
+     * @return the scene with its view
+     */
+    private static BenchmarkScene everything() {
+        Scene scene = new Scene.SceneBuilder("everything")
+                .setAmbientLight(new AmbientLight(new Color(WHITE), new Double3(0.20))).build();
+        scene.geometries.add(
+                new Triangle(new Point(-150, -150, -115), new Point(150, -150, -135), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(60)),
+                new Triangle(new Point(-150, -150, -115), new Point(-70, 70, -140), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(60).setKr(new Double3(0.8))),
+                new Sphere(new Point(-60, 70, 40), 30d).setEmission(new Color(600, 0, 600))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setShininess(30).setKt(0.9)),
+                new Sphere(new Point(50, -20, -100), 30d).setEmission(new Color(50, 300, 400))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setShininess(30)));
+        scene.lights.add(new PointLight(new Color(100, 200, 200), new Point(60, 50, 100))
+                .setKl(4E-5).setKq(2E-7));
+        scene.lights.add(new PointLight(new Color(ORANGE).reduce(2), new Point(-10, 50, -10))
+                .setKl(0.00003).setKc(1.00001).setKq(0.000001));
+        scene.lights.add(new DirectionalLight(new Color(255, 0, 0), new Vector(-5, -5, -5)));
+        return front("everything", 1, scene, 1000, 200);
+    }
+
+    /**
+     * A torus mesh, tilted towards the camera
+     *
+     * @param complexity the amount of segments around the tube of the torus
+     * @return the scene with its view
+     */
+    private static BenchmarkScene mesh(int complexity) {
+        int rings = 2 * complexity, segments = complexity;
+        double big = 60, small = 25, tilt = Math.toRadians(60);
+        double cosTilt = Math.cos(tilt), sinTilt = Math.sin(tilt);
+        double[] vertices = new double[3 * rings * segments];
+        for (int ring = 0, v = 0; ring < rings; ++ring) {
+            double u = 2 * Math.PI * ring / rings;
+            for (int segment = 0; segment < segments; ++segment, v += 3) {
+                double w = 2 * Math.PI * segment / segments;
+                double radius = big + small * Math.cos(w);
+                double x = radius * Math.cos(u), y = radius * Math.sin(u), z = small * Math.sin(w);
+                // tilt the torus around the x axis
+                vertices[v] = x;
+                vertices[v + 1] = y * cosTilt - z * sinTilt;
+                vertices[v + 2] = y * sinTilt + z * cosTilt - 150;
+            }
+        }
+        int[] faces = new int[6 * rings * segments];
+        for (int ring = 0, f = 0; ring < rings; ++ring)
+            for (int segment = 0; segment < segments; ++segment, f += 6) {
+                int a = ring * segments + segment;
+                int b = ring * segments + (segment + 1) % segments;
+                int c = (ring + 1) % rings * segments + segment;
+                int d = (ring + 1) % rings * segments + (segment + 1) % segments;
+                faces[f] = a;
+                faces[f + 1] = c;
+                faces[f + 2] = d;
+                faces[f + 3] = a;
+                faces[f + 4] = d;
+                faces[f + 5] = b;
+            }
+        Scene scene = builder("mesh").build();
+        scene.geometries.add(new Mesh(vertices, faces).setEmission(new Color(60, 40, 20))
+                        .setMaterial(new Material().setKd(0.6).setKs(0.4).setShininess(40)),
+                new Plane(new Point(0, -100, 0), new Vector(0, 1, 0))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.2).setShininess(10)));
+        scene.geometries.buildBVH();
+        scene.lights.add(new SpotLight(new Color(700, 600, 500), new Point(-100, 150, 100), new Vector(1, -1.5, -2))
+                .setKl(0.0004).setKq(0.00002));
+        scene.lights.add(new DirectionalLight(new Color(150, 150, 200), new Vector(1, -1, -1)));
+        return front("mesh", complexity, scene, 200, 200);
+    }
+
+    /**
+     * Spheres on a floor, lit by a circle of point lights
+     *
+     * @param complexity the amount of point lights
+     * @return the scene with its view
+     */
+    private static BenchmarkScene lights(int complexity) {
+        Scene scene = builder("lights").build();
+        Material matte = new Material().setKd(0.5).setKs(0.3).setShininess(30);
+        scene.geometries.add(new Plane(new Point(0, -50, 0), new Vector(0, 1, 0)).setMaterial(matte));
+        for (int i = -2; i <= 2; ++i)
+            for (int j = 0; j < 3; ++j)
+                scene.geometries.add(new Sphere(new Point(i * 45, -30, -120 - j * 45), 20d)
+                        .setEmission(new Color(20 * (i + 3), 30 * (j + 1), 60)).setMaterial(matte));
+        scene.geometries.buildBVH();
+        for (int l = 0; l < complexity; ++l) {
+            double angle = 2 * Math.PI * l / complexity;
+            scene.lights.add(new PointLight(new Color(600.0 / complexity + 40, 500.0 / complexity + 30, 60),
+                    new Point(150 * Math.cos(angle), 80, -165 + 150 * Math.sin(angle)))
+                    .setKl(0.0005).setKq(0.00005));
+        }
+        return front("lights", complexity, scene, 100, 200);
+    }
+
+    /**
+     * Spheres between two facing mirrors, seen from the side, so the rays bounce to the depth limit
+     *
+     * @param complexity the amount of spheres
+     * @return the scene with its view
+     */
+    private static BenchmarkScene reflection(int complexity) {
+        Scene scene = builder("reflection").build();
+        Material mirror = new Material().setKd(0.05).setKr(0.9);
+        scene.geometries.add(new Plane(new Point(-100, 0, 0), new Vector(1, 0, 0)).setMaterial(mirror),
+                new Plane(new Point(100, 0, 0), new Vector(-1, 0, 0)).setMaterial(mirror),
+                new Plane(new Point(0, -60, 0), new Vector(0, 1, 0))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.2).setShininess(10).setKr(0.2)));
+        for (int i = 0; i < complexity; ++i)
+            scene.geometries.add(new Sphere(new Point(-50 + 100.0 * i / Math.max(1, complexity - 1),
+                    -35, -120 - 40 * i), 25d)
+                    .setEmission(new Color(30, 60 + 30 * (i % 4), 150))
+                    .setMaterial(new Material().setKd(0.3).setKs(0.5).setShininess(80).setKr(0.4)));
+        scene.lights.add(new PointLight(new Color(700, 600, 500), new Point(0, 100, 0)).setKl(0.0003).setKq(0.00002));
+        return new BenchmarkScene("reflection", complexity, scene, new Point(60, 0, 100),
+                new Vector(-0.3, 0, -1), new Vector(0, 1, 0), 100, 200);
+    }
+
+    /**
+     * A stack of transparent squares in front of a sphere
+     *
+     * @param complexity the amount of squares
+     * @return the scene with its view
+     */
+    private static BenchmarkScene transparent(int complexity) {
+        Scene scene = builder("transparent").build();
+        scene.geometries.add(new Sphere(new Point(0, 0, -100 - 15 * complexity), 50d)
+                .setEmission(new Color(200, 60, 30))
+                .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(60)));
+        for (int i = 0; i < complexity; ++i) {
+            double z = -60 - 15 * i, side = 60 + 2 * i;
+            scene.geometries.add(new Polygon(new Point(-side, -side, z), new Point(side, -side, z),
+                    new Point(side, side, z), new Point(-side, side, z))
+                    .setEmission(new Color(2, 4 + i % 5, 8))
+                    .setMaterial(new Material().setKd(0.02).setKs(0.1).setShininess(100).setKt(0.9)));
+        }
+        scene.geometries.buildBVH();
+        scene.lights.add(new SpotLight(new Color(800, 700, 600), new Point(80, 80, 50), new Vector(-1, -1, -2))
+                .setKl(0.0002).setKq(0.00001));
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 120), new Vector(0, -1, -1)));
+        return front("transparent", complexity, scene, 100, 200);
+    }
+
+    /**
+     * Randomly placed spheres in a bounding volume hierarchy
+     *
+     * @param complexity the amount of spheres
+     * @return the scene with its view
+     */
+    private static BenchmarkScene spheres(int complexity) {
+        Scene scene = builder("spheres").build();
+        SplittableRandom random = new SplittableRandom(complexity);
+        for (int i = 0; i < complexity; ++i)
+            scene.geometries.add(new Sphere(new Point(random.nextDouble(-150, 150), random.nextDouble(-150, 150),
+                    random.nextDouble(-400, -100)), random.nextDouble(2, 12))
+                    .setEmission(new Color(random.nextInt(40, 200), random.nextInt(40, 200), random.nextInt(40, 200)))
+                    .setMaterial(new Material().setKd(0.5).setKs(0.4).setShininess(40)));
+        scene.geometries.buildBVH();
+        scene.lights.add(new PointLight(new Color(600, 600, 600), new Point(0, 200, 100)).setKl(0.0002).setKq(0.00001));
+        scene.lights.add(new DirectionalLight(new Color(120, 100, 80), new Vector(1, -1, -1)));
+        return front("spheres", complexity, scene, 100, 150);
+    }
+}
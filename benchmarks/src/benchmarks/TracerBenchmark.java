@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import primitives.Color;
+import primitives.Ray;
+import renderer.Camera;
+import renderer.RayTracerBasic;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of tracing single rays through the scenes of the {@link SceneCatalog}
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TracerBenchmark {
+
+    /**
+     * the resolution of the view, of which the pixels of the rays are chosen
+     */
+    private static final int RESOLUTION = 256;
+
+    /**
+     * the name of the traced scene
+     */
+    @Param({"everything", "mesh", "lights", "reflection", "transparent", "spheres"})
+    public String scene;
+
+    /**
+     * the tracer of the scene
+     */
+    private RayTracerBasic tracer;
+
+    /**
+     * primary rays of random pixels of the scene's view
+     */
+    private Ray[] rays;
+
+    /**
+     * index of the next ray
+     */
+    private int next = 0;
+
+    /**
+     * Creates the scene and the rays, with a fixed seed so that every run has the same work
+     */
+    @Setup
+    public void setup() {
+        BenchmarkScene benchmarkScene = SceneCatalog.create(scene);
+        tracer = new RayTracerBasic(benchmarkScene.scene());
+        Camera camera = benchmarkScene.camera(RESOLUTION);
+        SplittableRandom random = new SplittableRandom(29);
+        rays = new Ray[1024];
+        for (int i = 0; i < rays.length; ++i)
+            rays[i] = camera.constructRay(RESOLUTION, RESOLUTION,
+                    random.nextInt(RESOLUTION), random.nextInt(RESOLUTION));
+    }
+
+    /**
+     * @return the color of the next ray, in a cycle over the rays
+     */
+    @Benchmark
+    public Color traceRay() {
+        return tracer.traceRay(rays[next++ & (rays.length - 1)]);
+    }
+}
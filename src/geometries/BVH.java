@@ -0,0 +1,516 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+
+/**
+ * Bounding volume hierarchy over a set of bounded primitives, built with a binned surface-area heuristic (SAH).
+ * <p>
+ * The hierarchy only knows the primitives by their index and bounds, so it can serve both a collection of
+ * geometries and the faces of a single mesh. The nodes are kept in flat arrays in depth-first order:
+ * the left child of an inner node directly follows it, and the node holds the index of its right child.
+ * Below {@link #MAX_SAH_DEPTH} levels the nodes are split at the median of their primitives instead,
+ * so degenerate distributions, which the heuristic splits unevenly, cannot make the hierarchy deep.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+final class BVH {
+
+    /**
+     * Visitor of the primitives whose leaves are reached by a ray during traversal
+     */
+    interface Visitor {
+        /**
+         * Visits a primitive whose leaf box is hit by the ray
+         *
+         * @param primitive   the index of the primitive
+         * @param maxDistance the current maximum distance along the ray
+         * @return the new maximum distance along the ray - farther nodes are pruned,
+         * and a non-positive value stops the traversal
+         */
+        double visit(int primitive, double maxDistance);
+    }
+
+    /**
+     * Maximal amount of primitives in a leaf
+     */
+    private static final int MAX_LEAF_SIZE = 4;
+    /**
+     * Amount of bins per axis in the SAH split search
+     */
+    private static final int BINS = 12;
+    /**
+     * Cost of traversing an inner node relative to intersecting a primitive
+     */
+    private static final double TRAVERSAL_COST = 1;
+    /**
+     * Depth from which the nodes are split at the median, so the hierarchy is at most about
+     * MAX_SAH_DEPTH + log2(primitives) deep
+     */
+    private static final int MAX_SAH_DEPTH = 48;
+
+    /**
+     * Traversal stack of every thread, shared by the nested traversals of the thread
+     */
+    private static final ThreadLocal<TraversalStack> stacks = ThreadLocal.withInitial(TraversalStack::new);
+
+    /**
+     * Primitive indices ordered so that each leaf refers to a continuous range
+     */
+    private final int[] order;
+    /**
+     * Bounds of the nodes - 6 numbers (min x,y,z and max x,y,z) per node
+     */
+    private double[] nodeBounds;
+    /**
+     * For a leaf - the first position in {@link #order}, for an inner node - the index of its right child
+     */
+    private int[] nodeOffset;
+    /**
+     * For a leaf - the amount of its primitives, 0 for an inner node
+     */
+    private int[] nodeCount;
+    /**
+     * Amount of nodes in the hierarchy
+     */
+    private int nodes = 0;
+    /**
+     * Depth of the hierarchy, bounds the traversal stack
+     */
+    private int depth = 0;
+
+    /**
+     * Builds the hierarchy over primitives with the given bounds
+     *
+     * @param primBounds 6 numbers (min x,y,z and max x,y,z) per primitive
+     */
+    BVH(double[] primBounds) {
+        if (primBounds.length == 0 || primBounds.length % 6 != 0)
+            throw new IllegalArgumentException("A hierarchy needs 6 bounds numbers for each of at least one primitive");
+        int size = primBounds.length / 6;
+
+        order = new int[size];
+        double[] centroids = new double[3 * size];
+        for (int i = 0; i < size; ++i) {
+            order[i] = i;
+            for (int axis = 0; axis < 3; ++axis)
+                centroids[3 * i + axis] = (primBounds[6 * i + axis] + primBounds[6 * i + 3 + axis]) / 2;
+        }
+
+        int capacity = 2 * size - 1;
+        nodeBounds = new double[6 * capacity];
+        nodeOffset = new int[capacity];
+        nodeCount = new int[capacity];
+        build(primBounds, centroids, 0, size, 1);
+    }
+
+    /**
+     * getter
+     *
+     * @return the box enclosing all the primitives
+     */
+    BoundingBox getBoundingBox() {
+        return new BoundingBox(nodeBounds[0], nodeBounds[1], nodeBounds[2], nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+    }
+
+    /**
+     * getter
+     *
+     * @return the depth of the hierarchy
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Recursively builds the node of a range of primitives
+     *
+     * @param primBounds bounds of the primitives - 6 numbers per primitive
+     * @param centroids  centroids of the primitives - 3 numbers per primitive
+     * @param start      first position of the range in {@link #order}
+     * @param end        position after the range in {@link #order}
+     * @param level      depth of the node
+     */
+    private void build(double[] primBounds, double[] centroids, int start, int end, int level) {
+        int node = nodes++;
+        depth = Math.max(depth, level);
+
+        // bounds of the node and of the centroids in it
+        double[] bounds = emptyBounds();
+        double[] centroidBounds = emptyBounds();
+        for (int i = start; i < end; ++i) {
+            int prim = order[i];
+            for (int axis = 0; axis < 3; ++axis) {
+                bounds[axis] = Math.min(bounds[axis], primBounds[6 * prim + axis]);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], primBounds[6 * prim + 3 + axis]);
+                double c = centroids[3 * prim + axis];
+                centroidBounds[axis] = Math.min(centroidBounds[axis], c);
+                centroidBounds[axis + 3] = Math.max(centroidBounds[axis + 3], c);
+            }
+        }
+        System.arraycopy(bounds, 0, nodeBounds, 6 * node, 6);
+
+        int count = end - start;
+        if (count == 1) {
+            makeLeaf(node, start, count);
+            return;
+        }
+
+        // search the cheapest split plane over the bins of all three axes
+        double leafCost = count;
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestAxis = -1;
+        int bestBin = -1;
+        double area = area(bounds);
+        int[] binCount = new int[BINS];
+        double[] binBounds = new double[6 * BINS];
+        double[] rightArea = new double[BINS];
+        for (int axis = 0; axis < 3; ++axis) {
+            double cMin = centroidBounds[axis];
+            double extent = centroidBounds[axis + 3] - cMin;
+            if (extent <= 0) continue;
+
+            Arrays.fill(binCount, 0);
+            for (int b = 0; b < BINS; ++b) {
+                Arrays.fill(binBounds, 6 * b, 6 * b + 3, Double.POSITIVE_INFINITY);
+                Arrays.fill(binBounds, 6 * b + 3, 6 * b + 6, Double.NEGATIVE_INFINITY);
+            }
+            for (int i = start; i < end; ++i) {
+                int prim = order[i];
+                int b = bin(centroids[3 * prim + axis], cMin, extent);
+                ++binCount[b];
+                grow(binBounds, 6 * b, primBounds, 6 * prim);
+            }
+
+            // sweep from the right to accumulate the areas of the right sides
+            double[] acc = emptyBounds();
+            for (int b = BINS - 1; b > 0; --b) {
+                grow(acc, 0, binBounds, 6 * b);
+                rightArea[b] = area(acc);
+            }
+            // sweep from the left and evaluate each split after bin b
+            acc = emptyBounds();
+            int leftCount = 0;
+            for (int b = 0; b < BINS - 1; ++b) {
+                grow(acc, 0, binBounds, 6 * b);
+                leftCount += binCount[b];
+                int rightCount = count - leftCount;
+                if (leftCount == 0 || rightCount == 0) continue;
+                double cost = TRAVERSAL_COST + (area(acc) * leftCount + rightArea[b + 1] * rightCount) / area;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestBin = b;
+                }
+            }
+        }
+
+        int mid;
+        if (bestAxis != -1 && level >= MAX_SAH_DEPTH) {
+            // the heuristic made the hierarchy deep - halve the range along the widest axis of the centroids
+            int axis = 0;
+            for (int a = 1; a < 3; ++a)
+                if (centroidBounds[a + 3] - centroidBounds[a] > centroidBounds[axis + 3] - centroidBounds[axis])
+                    axis = a;
+            mid = start + count / 2;
+            select(centroids, start, end, mid, axis);
+        } else if (bestAxis == -1) {
+            // all the centroids are in the same point - split by count
+            if (count <= MAX_LEAF_SIZE) {
+                makeLeaf(node, start, count);
+                return;
+            }
+            mid = start + count / 2;
+        } else {
+            if (count <= MAX_LEAF_SIZE && bestCost >= leafCost) {
+                makeLeaf(node, start, count);
+                return;
+            }
+            mid = partition(centroids, start, end, bestAxis, bestBin, centroidBounds);
+        }
+
+        nodeCount[node] = 0;
+        build(primBounds, centroids, start, mid, level + 1);
+        nodeOffset[node] = nodes;
+        build(primBounds, centroids, mid, end, level + 1);
+    }
+
+    /**
+     * Turns a node into a leaf of a range of primitives
+     *
+     * @param node  the node index
+     * @param start first position of the range in {@link #order}
+     * @param count amount of primitives in the range
+     */
+    private void makeLeaf(int node, int start, int count) {
+        nodeOffset[node] = start;
+        nodeCount[node] = count;
+    }
+
+    /**
+     * Reorders a range of primitives so that the ones in the bins up to the split bin come first
+     *
+     * @param centroids      centroids of the primitives
+     * @param start          first position of the range
+     * @param end            position after the range
+     * @param axis           the split axis
+     * @param splitBin       last bin of the left side
+     * @param centroidBounds bounds of the centroids in the range
+     * @return the first position of the right side
+     */
+    private int partition(double[] centroids, int start, int end, int axis, int splitBin, double[] centroidBounds) {
+        double cMin = centroidBounds[axis];
+        double extent = centroidBounds[axis + 3] - cMin;
+        int i = start;
+        int j = end - 1;
+        while (i <= j) {
+            if (bin(centroids[3 * order[i] + axis], cMin, extent) <= splitBin)
+                ++i;
+            else {
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j--] = tmp;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Reorders a range of primitives around its k-th position by their centroids on an axis (quickselect),
+     * so the primitives before the position have no larger centroids than the ones after it
+     *
+     * @param centroids centroids of the primitives
+     * @param start     first position of the range
+     * @param end       position after the range
+     * @param k         the position to select
+     * @param axis      the axis of the centroids
+     */
+    private void select(double[] centroids, int start, int end, int k, int axis) {
+        int lo = start, hi = end - 1;
+        while (lo < hi) {
+            double pivot = centroids[3 * order[(lo + hi) >>> 1] + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (centroids[3 * order[i] + axis] < pivot) ++i;
+                while (centroids[3 * order[j] + axis] > pivot) --j;
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    /**
+     * Finds the bin of a centroid coordinate
+     *
+     * @param c      the centroid coordinate
+     * @param cMin   minimal centroid coordinate on the axis
+     * @param extent extent of the centroids on the axis
+     * @return the bin index
+     */
+    private static int bin(double c, double cMin, double extent) {
+        int b = (int) (BINS * (c - cMin) / extent);
+        return b < BINS ? b : BINS - 1;
+    }
+
+    /**
+     * Creates inverted bounds that any growth replaces
+     *
+     * @return empty bounds
+     */
+    private static double[] emptyBounds() {
+        double inf = Double.POSITIVE_INFINITY;
+        return new double[]{inf, inf, inf, -inf, -inf, -inf};
+    }
+
+    /**
+     * Grows bounds to contain other bounds
+     *
+     * @param target array of the bounds to grow
+     * @param to     offset of the bounds to grow
+     * @param source array of the contained bounds
+     * @param from   offset of the contained bounds
+     */
+    private static void grow(double[] target, int to, double[] source, int from) {
+        for (int axis = 0; axis < 3; ++axis) {
+            target[to + axis] = Math.min(target[to + axis], source[from + axis]);
+            target[to + 3 + axis] = Math.max(target[to + 3 + axis], source[from + 3 + axis]);
+        }
+    }
+
+    /**
+     * Calculates the surface area of bounds
+     *
+     * @param b the bounds
+     * @return surface area
+     */
+    private static double area(double[] b) {
+        double dx = b[3] - b[0];
+        double dy = b[4] - b[1];
+        double dz = b[5] - b[2];
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Finds the entry distance of a ray into a node's box
+     *
+     * @param node        the node index
+     * @param ox          x coordinate of the ray's base point
+     * @param oy          y coordinate of the ray's base point
+     * @param oz          z coordinate of the ray's base point
+     * @param invX        inverse of the x component of the ray's direction
+     * @param invY        inverse of the y component of the ray's direction
+     * @param invZ        inverse of the z component of the ray's direction
+     * @param maxDistance the maximum distance along the ray
+     * @return the entry distance, or positive infinity if the box is missed
+     */
+    private double enter(int node, double ox, double oy, double oz,
+                         double invX, double invY, double invZ, double maxDistance) {
+        int b = 6 * node;
+        return BoundingBox.intersect(nodeBounds[b], nodeBounds[b + 1], nodeBounds[b + 2],
+                nodeBounds[b + 3], nodeBounds[b + 4], nodeBounds[b + 5],
+                ox, oy, oz, invX, invY, invZ, maxDistance);
+    }
+
+    /**
+     * Traverses the hierarchy along a ray, nearer children first, and visits the primitives of the reached leaves.
+     * Nodes that the ray enters beyond the current maximum distance are pruned.
+     *
+     * @param ray         the ray
+     * @param maxDistance the maximum distance along the ray
+     * @param visitor     the visitor of the reached primitives
+     * @return the maximum distance after the traversal
+     */
+    double traverse(Ray ray, double maxDistance, Visitor visitor) {
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        double ox = p0.getX(), oy = p0.getY(), oz = p0.getZ();
+        double invX = 1 / dir.getX(), invY = 1 / dir.getY(), invZ = 1 / dir.getZ();
+
+        if (enter(0, ox, oy, oz, invX, invY, invZ, maxDistance) == Double.POSITIVE_INFINITY)
+            return maxDistance;
+
+        IntersectionStats.Counters stats = IntersectionStats.local();
+        // a near-first traversal keeps at most one pending sibling per level,
+        // in a part of the thread's stack above the parts of the traversals that this one is nested in
+        TraversalStack traversal = stacks.get();
+        int base = traversal.reserve(depth + 1);
+        try {
+            return traverse(ox, oy, oz, invX, invY, invZ, maxDistance, visitor, stats,
+                    traversal.nodes, traversal.entries, base);
+        } finally {
+            traversal.used = base;
+        }
+    }
+
+    /**
+     * Traverses the hierarchy along a ray from its root, with a part of the thread's traversal stack
+     *
+     * @param ox          x coordinate of the ray's base point
+     * @param oy          y coordinate of the ray's base point
+     * @param oz          z coordinate of the ray's base point
+     * @param invX        inverse of the x component of the ray's direction
+     * @param invY        inverse of the y component of the ray's direction
+     * @param invZ        inverse of the z component of the ray's direction
+     * @param maxDistance the maximum distance along the ray
+     * @param visitor     the visitor of the reached primitives
+     * @param stats       the counters of the thread, null if it is not counted
+     * @param stack       the pending nodes
+     * @param entries     the entry distances of the pending nodes
+     * @param base        the first position of the traversal's part of the stack
+     * @return the maximum distance after the traversal
+     */
+    private double traverse(double ox, double oy, double oz, double invX, double invY, double invZ,
+                            double maxDistance, Visitor visitor, IntersectionStats.Counters stats,
+                            int[] stack, double[] entries, int base) {
+        int top = base;
+        stack[top] = 0;
+        entries[top++] = 0;
+        while (top > base) {
+            int node = stack[--top];
+            if (entries[top] >= maxDistance) continue;
+            if (stats != null) stats.countNodeVisit();
+
+            int count = nodeCount[node];
+            if (count > 0) {
+                int offset = nodeOffset[node];
+                for (int i = offset; i < offset + count; ++i) {
+                    maxDistance = visitor.visit(order[i], maxDistance);
+                    if (maxDistance <= 0) return maxDistance;
+                }
+                continue;
+            }
+
+            int left = node + 1;
+            int right = nodeOffset[node];
+            double tLeft = enter(left, ox, oy, oz, invX, invY, invZ, maxDistance);
+            double tRight = enter(right, ox, oy, oz, invX, invY, invZ, maxDistance);
+            if (tLeft > tRight) {
+                int tmp = left;
+                left = right;
+                right = tmp;
+                double t = tLeft;
+                tLeft = tRight;
+                tRight = t;
+            }
+            // push the farther child first so that the nearer one is visited next
+            if (tRight != Double.POSITIVE_INFINITY) {
+                stack[top] = right;
+                entries[top++] = tRight;
+            }
+            if (tLeft != Double.POSITIVE_INFINITY) {
+                stack[top] = left;
+                entries[top++] = tLeft;
+            }
+        }
+        return maxDistance;
+    }
+
+    /**
+     * The traversal stack of a thread. A traversal reserves a part above the parts of the traversals
+     * that it is nested in, and releases it when it ends. A grown stack is used by the traversals that start later,
+     * while the running ones keep the arrays that they started with.
+     */
+    private static final class TraversalStack {
+
+        /**
+         * the pending nodes
+         */
+        private int[] nodes = new int[128];
+
+        /**
+         * the entry distances of the pending nodes
+         */
+        private double[] entries = new double[128];
+
+        /**
+         * amount of positions reserved by the running traversals
+         */
+        private int used = 0;
+
+        /**
+         * Reserves a part of the stack, growing it if needed
+         *
+         * @param size the size of the part
+         * @return the first position of the part
+         */
+        private int reserve(int size) {
+            int base = used;
+            used += size;
+            if (used > nodes.length) {
+                int capacity = Math.max(2 * nodes.length, used);
+                nodes = Arrays.copyOf(nodes, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            return base;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * BoundingBox class represents an axis-aligned box that encloses a geometry in 3D Cartesian coordinate system
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public class BoundingBox {
+
+    /**
+     * Relative tolerance of the far slab distance, keeps flat boxes (e.g. of axis-aligned polygons)
+     * from being missed because of rounding errors
+     */
+    private static final double FAR_TOLERANCE = 1 + 1e-9;
+
+    /**
+     * minimal and maximal coordinates of the box
+     */
+    final double minX, minY, minZ, maxX, maxY, maxZ;
+
+    /**
+     * constructor to initialize the box with its minimal and maximal coordinates
+     *
+     * @param minX minimal x coordinate
+     * @param minY minimal y coordinate
+     * @param minZ minimal z coordinate
+     * @param maxX maximal x coordinate
+     * @param maxY maximal y coordinate
+     * @param maxZ maximal z coordinate
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            throw new IllegalArgumentException("minimal coordinates of a box can't be bigger than the maximal ones");
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * constructor to initialize the smallest box that contains all the given points
+     *
+     * @param points points to be enclosed by the box
+     */
+    public BoundingBox(Point... points) {
+        if (points.length == 0)
+            throw new IllegalArgumentException("A box must contain at least one point");
+        double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY, z1 = Double.POSITIVE_INFINITY;
+        double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY, z2 = Double.NEGATIVE_INFINITY;
+        for (Point point : points) {
+            x1 = Math.min(x1, point.getX());
+            y1 = Math.min(y1, point.getY());
+            z1 = Math.min(z1, point.getZ());
+            x2 = Math.max(x2, point.getX());
+            y2 = Math.max(y2, point.getY());
+            z2 = Math.max(z2, point.getZ());
+        }
+        this.minX = x1;
+        this.minY = y1;
+        this.minZ = z1;
+        this.maxX = x2;
+        this.maxY = y2;
+        this.maxZ = z2;
+    }
+
+    /**
+     * getter
+     *
+     * @return the corner of the box with the minimal coordinates
+     */
+    public Point getMin() {
+        return new Point(minX, minY, minZ);
+    }
+
+    /**
+     * getter
+     *
+     * @return the corner of the box with the maximal coordinates
+     */
+    public Point getMax() {
+        return new Point(maxX, maxY, maxZ);
+    }
+
+    /**
+     * creates the smallest box that contains both this box and another box
+     *
+     * @param other the other box
+     * @return the united box
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+
+    /**
+     * calculates the surface area of the box
+     *
+     * @return surface area
+     */
+    public double surfaceArea() {
+        double dx = maxX - minX;
+        double dy = maxY - minY;
+        double dz = maxZ - minZ;
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Checks whether a ray hits the box before a maximal distance (slab test)
+     *
+     * @param ray         the ray to check
+     * @param maxDistance the maximum distance along the ray
+     * @return true if the ray enters the box before the maximum distance
+     */
+    public boolean intersects(Ray ray, double maxDistance) {
+        return intersect(ray, maxDistance) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Finds the distance along a ray in which it enters the box (slab test)
+     *
+     * @param ray         the ray to check
+     * @param maxDistance the maximum distance along the ray
+     * @return the entry distance (0 if the ray starts inside the box),
+     * or positive infinity if the box is missed before the maximum distance
+     */
+    public double intersect(Ray ray, double maxDistance) {
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        return intersect(minX, minY, minZ, maxX, maxY, maxZ,
+                p0.getX(), p0.getY(), p0.getZ(), 1 / dir.getX(), 1 / dir.getY(), 1 / dir.getZ(), maxDistance);
+    }
+
+    /**
+     * Slab test of a ray against box coordinates, shared with the flattened boxes of {@link BVH}.
+     * Zero direction components produce infinite inverses, and the NaN that may follow is ignored by the comparisons.
+     *
+     * @param minX        minimal x coordinate of the box
+     * @param minY        minimal y coordinate of the box
+     * @param minZ        minimal z coordinate of the box
+     * @param maxX        maximal x coordinate of the box
+     * @param maxY        maximal y coordinate of the box
+     * @param maxZ        maximal z coordinate of the box
+     * @param ox          x coordinate of the ray's base point
+     * @param oy          y coordinate of the ray's base point
+     * @param oz          z coordinate of the ray's base point
+     * @param invX        inverse of the x component of the ray's direction
+     * @param invY        inverse of the y component of the ray's direction
+     * @param invZ        inverse of the z component of the ray's direction
+     * @param maxDistance the maximum distance along the ray
+     * @return the entry distance, or positive infinity if the box is missed
+     */
+    static double intersect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                            double ox, double oy, double oz, double invX, double invY, double invZ,
+                            double maxDistance) {
+        double tNear = 0;
+        double tFar = maxDistance;
+
+        double t1 = (minX - ox) * invX;
+        double t2 = (maxX - ox) * invX;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > tNear) tNear = t1;
+        if (t2 * FAR_TOLERANCE < tFar) tFar = t2 * FAR_TOLERANCE;
+
+        t1 = (minY - oy) * invY;
+        t2 = (maxY - oy) * invY;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > tNear) tNear = t1;
+        if (t2 * FAR_TOLERANCE < tFar) tFar = t2 * FAR_TOLERANCE;
+
+        t1 = (minZ - oz) * invZ;
+        t2 = (maxZ - oz) * invZ;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > tNear) tNear = t1;
+        if (t2 * FAR_TOLERANCE < tFar) tFar = t2 * FAR_TOLERANCE;
+
+        return tNear <= tFar ? tNear : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox{" +
+                "min=(" + minX + "," + minY + "," + minZ + ")" +
+                ", max=(" + maxX + "," + maxY + "," + maxZ + ")" +
+                '}';
+    }
+}
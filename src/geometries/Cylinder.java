@@ -1,6 +1,8 @@
 package geometries;
 
+import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
 
 /**
  * Cylinder class represents three-dimensional Cylinder in 3D Cartesian coordinate
@@ -10,6 +12,7 @@ import primitives.Ray;
 public class Cylinder extends Tube {
 
     private final double height;
+    private final BoundingBox box;
 
     /**
      * constructor to initialize cylinder with radius' axis ray and height
@@ -21,6 +24,21 @@ public class Cylinder extends Tube {
     public Cylinder(Ray axisRay, double radius, double height) {
         super(axisRay, radius);
         this.height = height;
+
+        // the box of the two bases - each base disc extends radius * sin(angle between axis and coordinate)
+        Point base = axisRay.getP0();
+        Point top = axisRay.getPoint(height);
+        Vector dir = axisRay.getDir();
+        double ex = radius * Math.sqrt(Math.max(0, 1 - dir.getX() * dir.getX()));
+        double ey = radius * Math.sqrt(Math.max(0, 1 - dir.getY() * dir.getY()));
+        double ez = radius * Math.sqrt(Math.max(0, 1 - dir.getZ() * dir.getZ()));
+        this.box = new BoundingBox(
+                Math.min(base.getX(), top.getX()) - ex,
+                Math.min(base.getY(), top.getY()) - ey,
+                Math.min(base.getZ(), top.getZ()) - ez,
+                Math.max(base.getX(), top.getX()) + ex,
+                Math.max(base.getY(), top.getY()) + ey,
+                Math.max(base.getZ(), top.getZ()) + ez);
     }
 
     /**
@@ -32,5 +50,8 @@ public class Cylinder extends Tube {
         return height;
     }
 
-
+    @Override
+    public BoundingBox getBoundingBox() {
+        return box;
+    }
 }
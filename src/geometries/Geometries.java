@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Ray;
 
 import java.util.LinkedList;
@@ -15,6 +16,36 @@ public class Geometries extends Intersectable {
 
     private final List<Intersectable> geometries;
 
+    /**
+     * Bounding volume hierarchy over the bounded geometries, null until {@link #buildBVH()} is called
+     */
+    private BVH bvh = null;
+
+    /**
+     * The bounded geometries in the order of their indices in the hierarchy
+     */
+    private Intersectable[] bvhGeometries;
+
+    /**
+     * The unbounded geometries, which are tested against every ray besides the hierarchy
+     */
+    private List<Intersectable> unbounded;
+
+    /**
+     * Cached box of the whole collection, null if unbounded or not calculated yet
+     */
+    private BoundingBox box = null;
+
+    /**
+     * Flag of whether {@link #box} is up-to-date with the collection
+     */
+    private boolean boxCalculated = false;
+
+    /**
+     * The collections that this collection was added to, whose hierarchies and boxes depend on it
+     */
+    private final List<Geometries> parents = new LinkedList<>();
+
     /**
      * Creates an empty collection of geometries.
      */
@@ -28,21 +59,125 @@ public class Geometries extends Intersectable {
      * @param geometries an array of Intersectable objects to add to the collection.
      */
     public Geometries(Intersectable... geometries) {
-        this.geometries = List.of(geometries);
+        this();
+        add(geometries);
     }
 
     /**
      * Adds the provided Intersectable objects to the collection.
+     * A previously built hierarchy is dropped, until {@link #buildBVH()} is called again -
+     * also the hierarchies of the collections that contain this collection, which enclose its geometries.
      *
      * @param geometries an array of Intersectable objects to add to the collection.
      */
     public void add(Intersectable... geometries) {
+        for (Intersectable geometry : geometries) {
+            geometry.setBoundingBoxEnabled(boundingBoxEnabled);
+            if (geometry instanceof Geometries nested)
+                nested.parents.add(this);
+        }
         this.geometries.addAll(List.of(geometries));
+        invalidate();
+    }
+
+    /**
+     * Drops the hierarchy and the box of the collection and of the collections that contain it
+     */
+    private void invalidate() {
+        bvh = null;
+        boxCalculated = false;
+        for (Geometries parent : parents)
+            parent.invalidate();
+    }
+
+    /**
+     * Turns on or off the bounding box test of the collection and of all the geometries in it,
+     * including the ones that will be added later
+     *
+     * @param enabled true to reject rays that miss the bounding boxes early
+     * @return this Geometries object
+     */
+    @Override
+    public Geometries setBoundingBoxEnabled(boolean enabled) {
+        super.setBoundingBoxEnabled(enabled);
+        for (Intersectable geometry : geometries)
+            geometry.setBoundingBoxEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Compiles the collection into a bounding volume hierarchy before rendering,
+     * so that the intersections of a ray are found in logarithmic rather than linear time.
+     * Nested collections are compiled as well. Unbounded geometries stay out of the hierarchy.
+     *
+     * @return this Geometries object
+     */
+    public Geometries buildBVH() {
+        List<Intersectable> bounded = new LinkedList<>();
+        unbounded = new LinkedList<>();
+        for (Intersectable geometry : geometries) {
+            if (geometry instanceof Geometries nested)
+                nested.buildBVH();
+            if (geometry.getBoundingBox() == null)
+                unbounded.add(geometry);
+            else
+                bounded.add(geometry);
+        }
+
+        bvhGeometries = bounded.toArray(new Intersectable[0]);
+        if (bvhGeometries.length == 0) {
+            bvh = null;
+            return this;
+        }
+
+        double[] bounds = new double[6 * bvhGeometries.length];
+        for (int i = 0; i < bvhGeometries.length; ++i) {
+            BoundingBox geometryBox = bvhGeometries[i].getBoundingBox();
+            bounds[6 * i] = geometryBox.minX;
+            bounds[6 * i + 1] = geometryBox.minY;
+            bounds[6 * i + 2] = geometryBox.minZ;
+            bounds[6 * i + 3] = geometryBox.maxX;
+            bounds[6 * i + 4] = geometryBox.maxY;
+            bounds[6 * i + 5] = geometryBox.maxZ;
+        }
+        bvh = new BVH(bounds);
+        boxCalculated = false;
+        return this;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (!boxCalculated) {
+            box = calcBoundingBox();
+            boxCalculated = true;
+        }
+        return box;
+    }
+
+    /**
+     * Calculates the box that encloses all the geometries in the collection
+     *
+     * @return the bounding box, or null if the collection is empty or one of its geometries is unbounded
+     */
+    private BoundingBox calcBoundingBox() {
+        if (bvh != null && unbounded.isEmpty())
+            return bvh.getBoundingBox();
+
+        BoundingBox result = null;
+        for (Intersectable geometry : geometries) {
+            BoundingBox geometryBox = geometry.getBoundingBox();
+            // one unbounded geometry makes the whole collection unbounded
+            if (geometryBox == null)
+                return null;
+            result = result == null ? geometryBox : result.union(geometryBox);
+        }
+        return result;
+    }
 
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxdDistance) {
+        if (bvh != null)
+            return findGeoIntersectionsBVH(ray, maxdDistance);
 
         List<GeoPoint> lstIntersection;
 
@@ -65,4 +200,95 @@ public class Geometries extends Intersectable {
         // Return the list of intersection points.
         return lstAllIntersections;
     }
+
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        if (bvh != null)
+            return findClosestGeoIntersectionBVH(ray, maxDistance);
+
+        // each hit shrinks the distance in which the next geometries are searched
+        GeoPoint closest = null;
+        for (Intersectable geometry : geometries) {
+            GeoPoint geoPoint = geometry.findClosestGeoIntersection(ray, maxDistance);
+            if (geoPoint != null) {
+                closest = geoPoint;
+                maxDistance = ray.getP0().distance(geoPoint.point);
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Finds the closest intersection of a ray with the unbounded geometries and with the geometries
+     * in the hierarchy, where nodes beyond the closest hit found so far are pruned
+     *
+     * @param ray         The ray to find the intersection with.
+     * @param maxDistance The maximum distance to consider for the intersection.
+     * @return The closest GeoPoint, or null if there are no intersections before the maximum distance.
+     */
+    private GeoPoint findClosestGeoIntersectionBVH(Ray ray, double maxDistance) {
+        GeoPoint[] closest = new GeoPoint[1];
+        for (Intersectable geometry : unbounded) {
+            GeoPoint geoPoint = geometry.findClosestGeoIntersection(ray, maxDistance);
+            if (geoPoint != null) {
+                closest[0] = geoPoint;
+                maxDistance = ray.getP0().distance(geoPoint.point);
+            }
+        }
+
+        bvh.traverse(ray, maxDistance, (index, max) -> {
+            GeoPoint geoPoint = bvhGeometries[index].findClosestGeoIntersection(ray, max);
+            if (geoPoint == null)
+                return max;
+            closest[0] = geoPoint;
+            return ray.getP0().distance(geoPoint.point);
+        });
+        return closest[0];
+    }
+
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance) {
+        Double3 ktr = Double3.ONE;
+        for (Intersectable geometry : bvh == null ? geometries : unbounded) {
+            ktr = ktr.product(geometry.calcTransparency(ray, maxDistance));
+            if (ktr.equals(Double3.ZERO))
+                return Double3.ZERO;
+        }
+        if (bvh == null)
+            return ktr;
+
+        // stop the traversal as soon as an occluder blocks the ray completely
+        Double3[] transparency = {ktr};
+        bvh.traverse(ray, maxDistance, (index, max) -> {
+            transparency[0] = transparency[0].product(bvhGeometries[index].calcTransparency(ray, max));
+            return transparency[0].equals(Double3.ZERO) ? 0 : max;
+        });
+        return transparency[0];
+    }
+
+    /**
+     * Finds the intersections of a ray with the unbounded geometries and with the geometries
+     * whose leaves of the hierarchy are reached by the ray
+     *
+     * @param ray         The ray to find intersections with.
+     * @param maxDistance The maximum distance to consider for intersections.
+     * @return A list of GeoPoints representing the intersections, or null if there are none.
+     */
+    private List<GeoPoint> findGeoIntersectionsBVH(Ray ray, double maxDistance) {
+        List<GeoPoint> lstAllIntersections = new LinkedList<>();
+        for (Intersectable geometry : unbounded) {
+            List<GeoPoint> lstIntersection = geometry.findGeoIntersections(ray, maxDistance);
+            if (lstIntersection != null)
+                lstAllIntersections.addAll(lstIntersection);
+        }
+
+        bvh.traverse(ray, maxDistance, (index, max) -> {
+            List<GeoPoint> lstIntersection = bvhGeometries[index].findGeoIntersections(ray, max);
+            if (lstIntersection != null)
+                lstAllIntersections.addAll(lstIntersection);
+            return max;
+        });
+
+        return lstAllIntersections.isEmpty() ? null : lstAllIntersections;
+    }
 }
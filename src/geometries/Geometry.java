@@ -10,7 +10,23 @@ import primitives.*;
 public abstract class Geometry extends Intersectable {
 
     private Color emission = Color.BLACK;
-    private Material material = new Material();
+    private Material material;
+
+    /**
+     * Default constructor - the geometry starts with a default material
+     */
+    protected Geometry() {
+        this(new Material());
+    }
+
+    /**
+     * Constructor to initialize the geometry with a material that already exists, without creating a default one
+     *
+     * @param material the material of the geometry
+     */
+    protected Geometry(Material material) {
+        this.material = material;
+    }
 
     /**
      * Retrieves the emission color of the geometry.
@@ -41,6 +57,17 @@ public abstract class Geometry extends Intersectable {
      */
     public abstract Vector getNormal(Point point);
 
+    /**
+     * Returns the surface that the geometry is a part of - the geometry itself,
+     * or the whole geometry of a part that is created for an intersection (such as a face of a mesh).
+     * Intersections on the same surface are on the same object of the scene.
+     *
+     * @return the surface of the geometry
+     */
+    public Geometry getSurface() {
+        return this;
+    }
+
 
     /**
      * Retrieves the material associated with an object.
@@ -81,4 +108,12 @@ public abstract class Geometry extends Intersectable {
         return material.kT;
     }
 
+    @Override
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance) {
+        // an opaque geometry blocks the ray at any hit, so a single intersection is enough
+        if (material.kT.equals(Double3.ZERO))
+            return findClosestGeoIntersectionHelper(ray, maxDistance) == null ? Double3.ONE : Double3.ZERO;
+        return super.calcTransparencyHelper(ray, maxDistance);
+    }
+
 }
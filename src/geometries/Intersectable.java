@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 
@@ -13,6 +14,22 @@ import java.util.Objects;
  */
 public abstract class Intersectable {
 
+    /**
+     * Flag of rejecting rays that miss the geometry's bounding box before the full intersection calculation
+     */
+    protected boolean boundingBoxEnabled = false;
+
+    /**
+     * Turns on or off the bounding box test in {@link #findGeoIntersections(Ray, double)}
+     *
+     * @param enabled true to reject rays that miss the bounding box early
+     * @return this Intersectable object
+     */
+    public Intersectable setBoundingBoxEnabled(boolean enabled) {
+        this.boundingBoxEnabled = enabled;
+        return this;
+    }
+
     /**
      * Finds the intersections of a ray with the geometry.
      *
@@ -45,16 +62,44 @@ public abstract class Intersectable {
 
     /**
      * Finds the intersections of a ray with the geometry, considering all intersections within a maximum distance.
-     * return points in GeoPoint format
+     * return points in GeoPoint format.
+     * If the bounding box test is enabled, a ray that misses the box is rejected without further calculation.
      *
      * @param ray         The ray to find intersections with.
      * @param maxDistance The maximum distance to consider for intersections.
      * @return A list of GeoPoints representing the intersections.
      */
     public final List<GeoPoint> findGeoIntersections(Ray ray, double maxDistance) {
+        if (missesBoundingBox(ray, maxDistance))
+            return null;
+        countTest();
         return findGeoIntersectionsHelper(ray, maxDistance);
     }
 
+    /**
+     * Counts an intersection test of the geometry, if the intersection statistics are counted
+     */
+    private void countTest() {
+        IntersectionStats.Counters stats = IntersectionStats.local();
+        if (stats != null)
+            stats.countTest(getClass());
+    }
+
+    /**
+     * Checks whether the bounding box test is enabled and the ray misses the box before the maximum distance.
+     * Unbounded geometries are never rejected.
+     *
+     * @param ray         The ray to check.
+     * @param maxDistance The maximum distance along the ray.
+     * @return true if the ray can be rejected without intersecting the geometry itself
+     */
+    protected final boolean missesBoundingBox(Ray ray, double maxDistance) {
+        if (!boundingBoxEnabled)
+            return false;
+        BoundingBox box = getBoundingBox();
+        return box != null && !box.intersects(ray, maxDistance);
+    }
+
     /**
      * Helper method to find the intersections of a ray with the geometry, considering all intersections within a maximum distance.
      * Subclasses must implement this method to provide the actual intersection logic.
@@ -65,6 +110,97 @@ public abstract class Intersectable {
      */
     protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance);
 
+    /**
+     * Finds the closest intersection of a ray with the geometry.
+     *
+     * @param ray The ray to find the intersection with.
+     * @return The closest GeoPoint, or null if there are no intersections.
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Finds the closest intersection of a ray with the geometry within a maximum distance.
+     * Unlike {@link #findGeoIntersections(Ray, double)} it doesn't collect all the intersections,
+     * so composite geometries can shrink the maximum distance to the best hit found so far
+     * and reject farther geometries early.
+     *
+     * @param ray         The ray to find the intersection with.
+     * @param maxDistance The maximum distance to consider for the intersection.
+     * @return The closest GeoPoint, or null if there are no intersections before the maximum distance.
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        if (missesBoundingBox(ray, maxDistance))
+            return null;
+        countTest();
+        return findClosestGeoIntersectionHelper(ray, maxDistance);
+    }
+
+    /**
+     * Helper method to find the closest intersection of a ray with the geometry within a maximum distance.
+     * The default implementation picks the closest of all the intersections,
+     * subclasses may override it with a cheaper calculation.
+     *
+     * @param ray         The ray to find the intersection with.
+     * @param maxDistance The maximum distance to consider for the intersection.
+     * @return The closest GeoPoint, or null if there are no intersections before the maximum distance.
+     */
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        return intersections == null ? null : ray.findClosestGeoPoint(intersections);
+    }
+
+    /**
+     * Calculates the transparency of the geometry along a ray within a maximum distance (any-hit query),
+     * e.g. for a shadow ray towards a light source.
+     * The transparency coefficients of all the occluding intersections are multiplied,
+     * and the query stops at the first hit that blocks the ray completely.
+     *
+     * @param ray         The ray to check.
+     * @param maxDistance The maximum distance to consider for occluders.
+     * @return The transmitted part of the light - ONE if nothing blocks the ray, ZERO if it is fully blocked.
+     */
+    public final Double3 calcTransparency(Ray ray, double maxDistance) {
+        if (missesBoundingBox(ray, maxDistance))
+            return Double3.ONE;
+        countTest();
+        return calcTransparencyHelper(ray, maxDistance);
+    }
+
+    /**
+     * Helper method to calculate the transparency of the geometry along a ray within a maximum distance.
+     * The default implementation multiplies the transparency coefficients of all the intersections.
+     *
+     * @param ray         The ray to check.
+     * @param maxDistance The maximum distance to consider for occluders.
+     * @return The transmitted part of the light - ONE if nothing blocks the ray, ZERO if it is fully blocked.
+     */
+    protected Double3 calcTransparencyHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null)
+            return Double3.ONE;
+
+        Double3 ktr = Double3.ONE;
+        for (GeoPoint geoPoint : intersections) {
+            ktr = ktr.product(geoPoint.geometry.getKt());
+            // no light passes through an opaque occluder
+            if (ktr.equals(Double3.ZERO))
+                return Double3.ZERO;
+        }
+        return ktr;
+    }
+
+    /**
+     * Returns the axis-aligned box that encloses the geometry.
+     * Unbounded geometries (e.g. a plane) have no box and are always tested for intersections.
+     *
+     * @return the bounding box, or null if the geometry is unbounded
+     */
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
 
     /**
      * The GeoPoint class represents a geographic point with associated geometry information.
@@ -0,0 +1,132 @@
+package geometries;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IntersectionStats counts the intersection tests of the geometries by their types
+ * and the visited nodes of the bounding volume hierarchies during a single counting, such as a rendering.<br/>
+ * A thread counts into the counting only while it is bound to it (see {@link #bind()}),
+ * so several renderings can be counted at once, each into its own counting.
+ * Every thread counts into counters of its own, so the counting takes no locks,
+ * and the counters of all the threads are summed when they are read after the threads finished.
+ * While no thread is bound, a counting site costs a single volatile read.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public final class IntersectionStats {
+
+    /**
+     * the counters that the current thread counts into, null if the thread is not bound to a counting
+     */
+    private static final ThreadLocal<Counters> current = new ThreadLocal<>();
+
+    /**
+     * amount of threads that are bound to countings, so the lookup of the counters is skipped
+     * when nothing is counted
+     */
+    private static final AtomicInteger bound = new AtomicInteger();
+
+    /**
+     * the counters of the threads that counted in this counting
+     */
+    private final Queue<Counters> threads = new ConcurrentLinkedQueue<>();
+
+    /**
+     * the counters of every thread in this counting, created when the thread is bound for the first time
+     */
+    private final ThreadLocal<Counters> own = ThreadLocal.withInitial(() -> {
+        Counters counters = new Counters();
+        threads.add(counters);
+        return counters;
+    });
+
+    /**
+     * Binds the current thread to the counting, so its intersection tests are counted into it
+     * until {@link #unbind()} is called
+     */
+    public void bind() {
+        if (current.get() == null)
+            bound.incrementAndGet();
+        current.set(own.get());
+    }
+
+    /**
+     * Unbinds the current thread from its counting, so its intersection tests are not counted
+     */
+    public static void unbind() {
+        if (current.get() != null) {
+            current.remove();
+            bound.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the counters of the current thread
+     *
+     * @return the counters, or null if the thread is not bound to a counting
+     */
+    static Counters local() {
+        return bound.get() == 0 ? null : current.get();
+    }
+
+    /**
+     * Sums the intersection tests of all the threads of the counting
+     *
+     * @return the amounts of tests by the simple names of the types of the tested geometries, sorted by the names
+     */
+    public Map<String, Long> getTests() {
+        Map<String, Long> sums = new TreeMap<>();
+        for (Counters counters : threads)
+            counters.tests.forEach((type, count) -> sums.merge(type.getSimpleName(), count[0], Long::sum));
+        return sums;
+    }
+
+    /**
+     * Sums the visited hierarchy nodes of all the threads of the counting
+     *
+     * @return the amount of visited nodes
+     */
+    public long getNodeVisits() {
+        long sum = 0;
+        for (Counters counters : threads)
+            sum += counters.nodeVisits;
+        return sum;
+    }
+
+    /**
+     * The counters of a single thread in a counting
+     */
+    static final class Counters {
+
+        /**
+         * amounts of intersection tests by the types of the tested geometries
+         */
+        private final Map<Class<?>, long[]> tests = new HashMap<>();
+
+        /**
+         * amount of visited hierarchy nodes
+         */
+        private long nodeVisits = 0;
+
+        /**
+         * Counts an intersection test
+         *
+         * @param type the type of the tested geometry
+         */
+        void countTest(Class<?> type) {
+            tests.computeIfAbsent(type, t -> new long[1])[0]++;
+        }
+
+        /**
+         * Counts a visited hierarchy node
+         */
+        void countNodeVisit() {
+            ++nodeVisits;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+import static primitives.Util.isZero;
+
+/**
+ * Mesh class represents an indexed triangle mesh in 3D Cartesian coordinate system.
+ * <p>
+ * The vertices are kept in a flat array of coordinates and the faces in a flat array of vertex indices,
+ * so a face costs 12 bytes of indices instead of a whole {@link Triangle} object.
+ * The faces are intersected through a bounding volume hierarchy of their own,
+ * and a face object is created only for an actual intersection.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public class Mesh extends Geometry {
+
+    /**
+     * coordinates of the vertices - 3 numbers (x, y, z) per vertex
+     */
+    private final double[] vertices;
+
+    /**
+     * indices of the vertices of the faces - 3 indices per face
+     */
+    private final int[] faces;
+
+    /**
+     * hierarchy over the faces
+     */
+    private final BVH bvh;
+
+    /**
+     * box enclosing all the faces
+     */
+    private final BoundingBox box;
+
+    /**
+     * constructor to initialize the mesh with vertex coordinates and face indices.
+     * The arrays are used as is, without copying.
+     *
+     * @param vertices coordinates of the vertices - 3 numbers (x, y, z) per vertex
+     * @param faces    indices of the vertices of the faces - 3 indices per face,
+     *                 ordered like the vertices of a {@link Triangle}
+     * @throws IllegalArgumentException if the arrays are empty, not of triads, or a face refers to a missing vertex
+     */
+    public Mesh(double[] vertices, int[] faces) {
+        if (vertices.length == 0 || vertices.length % 3 != 0)
+            throw new IllegalArgumentException("Mesh vertices must be a non empty array of coordinate triads");
+        if (faces.length == 0 || faces.length % 3 != 0)
+            throw new IllegalArgumentException("Mesh faces must be a non empty array of index triads");
+        int vertexCount = vertices.length / 3;
+        for (int index : faces)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("Mesh face refers to a missing vertex " + index);
+
+        this.vertices = vertices;
+        this.faces = faces;
+
+        int faceCount = faces.length / 3;
+        double[] bounds = new double[6 * faceCount];
+        for (int f = 0; f < faceCount; ++f) {
+            for (int axis = 0; axis < 3; ++axis) {
+                double c0 = vertices[3 * faces[3 * f] + axis];
+                double c1 = vertices[3 * faces[3 * f + 1] + axis];
+                double c2 = vertices[3 * faces[3 * f + 2] + axis];
+                bounds[6 * f + axis] = Math.min(c0, Math.min(c1, c2));
+                bounds[6 * f + 3 + axis] = Math.max(c0, Math.max(c1, c2));
+            }
+        }
+        bvh = new BVH(bounds);
+        box = bvh.getBoundingBox();
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of faces in the mesh
+     */
+    public int getFaceCount() {
+        return faces.length / 3;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of vertices in the mesh
+     */
+    public int getVertexCount() {
+        return vertices.length / 3;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return box;
+    }
+
+    /**
+     * Returns the normal of the face that contains the point.
+     * The search goes over all the faces - the normal of an intersection is found at once by the geometry
+     * of its GeoPoint, which is the intersected face itself.
+     *
+     * @param point point on the mesh
+     * @return normal vector of the face containing the point
+     * @throws IllegalArgumentException if the point is not on the mesh
+     */
+    @Override
+    public Vector getNormal(Point point) {
+        double px = point.getX(), py = point.getY(), pz = point.getZ();
+        for (int f = 0; f < faces.length / 3; ++f) {
+            int i0 = 3 * faces[3 * f], i1 = 3 * faces[3 * f + 1], i2 = 3 * faces[3 * f + 2];
+            double e1x = vertices[i1] - vertices[i0], e1y = vertices[i1 + 1] - vertices[i0 + 1];
+            double e1z = vertices[i1 + 2] - vertices[i0 + 2];
+            double e2x = vertices[i2] - vertices[i0], e2y = vertices[i2 + 1] - vertices[i0 + 1];
+            double e2z = vertices[i2 + 2] - vertices[i0 + 2];
+            double wx = px - vertices[i0], wy = py - vertices[i0 + 1], wz = pz - vertices[i0 + 2];
+            double nx = e1y * e2z - e1z * e2y;
+            double ny = e1z * e2x - e1x * e2z;
+            double nz = e1x * e2y - e1y * e2x;
+            double nn = nx * nx + ny * ny + nz * nz;
+            // a degenerate face contains no points, and a point off the face's plane is not on the face
+            if (isZero(nn) || !isZero((wx * nx + wy * ny + wz * nz) / Math.sqrt(nn)))
+                continue;
+            // barycentric coordinates of the point - w = s * e1 + t * e2
+            double s = ((wy * e2z - wz * e2y) * nx + (wz * e2x - wx * e2z) * ny + (wx * e2y - wy * e2x) * nz) / nn;
+            double t = ((e1y * wz - e1z * wy) * nx + (e1z * wx - e1x * wz) * ny + (e1x * wy - e1y * wx) * nz) / nn;
+            if (s >= 0 && t >= 0 && s + t <= 1)
+                return new Vector(nx, ny, nz).normalize();
+        }
+        throw new IllegalArgumentException("The point is not on the mesh");
+    }
+
+    /**
+     * Calculates the normal of a face
+     *
+     * @param face the face index
+     * @return the unit normal of the face, or null if the face is degenerate
+     */
+    private Vector faceNormal(int face) {
+        int i0 = 3 * faces[3 * face], i1 = 3 * faces[3 * face + 1], i2 = 3 * faces[3 * face + 2];
+        double e1x = vertices[i1] - vertices[i0], e1y = vertices[i1 + 1] - vertices[i0 + 1];
+        double e1z = vertices[i1 + 2] - vertices[i0 + 2];
+        double e2x = vertices[i2] - vertices[i0], e2y = vertices[i2 + 1] - vertices[i0 + 1];
+        double e2z = vertices[i2 + 2] - vertices[i0 + 2];
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        if (isZero(nx) && isZero(ny) && isZero(nz))
+            return null;
+        return new Vector(nx, ny, nz).normalize();
+    }
+
+    /**
+     * Intersects a ray with a single face
+     *
+     * @param face        the face index
+     * @param ray         the ray
+     * @param maxDistance The maximum distance to consider for the intersection.
+     * @return the distance of the intersection along the ray, or 0 if there is no intersection
+     */
+    private double faceIntersection(int face, Ray ray, double maxDistance) {
+        IntersectionStats.Counters stats = IntersectionStats.local();
+        if (stats != null)
+            stats.countTest(Face.class);
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        int i0 = 3 * faces[3 * face], i1 = 3 * faces[3 * face + 1], i2 = 3 * faces[3 * face + 2];
+        double x0 = vertices[i0], y0 = vertices[i0 + 1], z0 = vertices[i0 + 2];
+        return Triangle.intersect(p0.getX(), p0.getY(), p0.getZ(), dir.getX(), dir.getY(), dir.getZ(),
+                x0, y0, z0,
+                vertices[i1] - x0, vertices[i1 + 1] - y0, vertices[i1 + 2] - z0,
+                vertices[i2] - x0, vertices[i2 + 1] - y0, vertices[i2 + 2] - z0,
+                maxDistance);
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = new LinkedList<>();
+        bvh.traverse(ray, maxDistance, (face, max) -> {
+            double t = faceIntersection(face, ray, max);
+            if (t != 0)
+                intersections.add(new GeoPoint(new Face(face), ray.getPoint(t)));
+            return max;
+        });
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        int[] closestFace = {-1};
+        double closest = bvh.traverse(ray, maxDistance, (face, max) -> {
+            double t = faceIntersection(face, ray, max);
+            if (t == 0)
+                return max;
+            closestFace[0] = face;
+            return t;
+        });
+        return closestFace[0] == -1 ? null : new GeoPoint(new Face(closestFace[0]), ray.getPoint(closest));
+    }
+
+    /**
+     * A face of the mesh as a geometry of an intersection point.
+     * It is created only for an intersection, and shares the emission and material of the mesh
+     * instead of creating a material of its own.
+     */
+    private class Face extends Geometry {
+
+        /**
+         * the face index in the mesh
+         */
+        private final int index;
+
+        /**
+         * constructor to initialize the face with its index
+         *
+         * @param index the face index in the mesh
+         */
+        private Face(int index) {
+            super(Mesh.this.getMaterial());
+            this.index = index;
+        }
+
+        @Override
+        public Vector getNormal(Point point) {
+            return faceNormal(index);
+        }
+
+        @Override
+        public Geometry getSurface() {
+            return Mesh.this;
+        }
+
+        @Override
+        public Color getEmission() {
+            return Mesh.this.getEmission();
+        }
+
+        @Override
+        public Material getMaterial() {
+            return Mesh.this.getMaterial();
+        }
+
+        @Override
+        public Double3 getKr() {
+            return Mesh.this.getKr();
+        }
+
+        @Override
+        public Double3 getKt() {
+            return Mesh.this.getKt();
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            double t = faceIntersection(index, ray, maxDistance);
+            return t == 0 ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            return o instanceof Face face && index == face.index && mesh() == face.mesh();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(mesh()), index);
+        }
+
+        /**
+         * getter
+         *
+         * @return the mesh of the face
+         */
+        private Mesh mesh() {
+            return Mesh.this;
+        }
+    }
+}
@@ -24,6 +24,10 @@ public class Polygon extends Geometry {
      */
     protected final Plane plane;
     private final int size;
+    /**
+     * Box enclosing the polygon's vertices
+     */
+    private final BoundingBox box;
 
     /**
      * Polygon constructor based on vertices list. The list must be ordered by edge
@@ -52,6 +56,7 @@ public class Polygon extends Geometry {
             throw new IllegalArgumentException("A polygon can't have less than 3 vertices");
         this.vertices = List.of(vertices);
         size = vertices.length;
+        box = new BoundingBox(vertices);
 
         // Generate the plane according to the first three vertices and associate the
         // polygon with this plane.
@@ -92,6 +97,11 @@ public class Polygon extends Geometry {
         return plane.getNormal();
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return box;
+    }
+
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         // Find intersections of the ray with the plane containing the polygon
@@ -16,6 +16,7 @@ import static primitives.Util.alignZero;
  */
 public class Sphere extends RadialGeometry {
     private final Point center;
+    private final BoundingBox box;
 
     /**
      * constructor to initialize Sphere with center point and radius
@@ -26,6 +27,8 @@ public class Sphere extends RadialGeometry {
     public Sphere(Point center, double radius) {
         super(radius);
         this.center = center;
+        this.box = new BoundingBox(center.getX() - radius, center.getY() - radius, center.getZ() - radius,
+                center.getX() + radius, center.getY() + radius, center.getZ() + radius);
     }
 
     /**
@@ -37,6 +40,11 @@ public class Sphere extends RadialGeometry {
         return center;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return box;
+    }
+
     @Override
     public Vector getNormal(Point point) {
         return point.subtract(this.center).normalize();
@@ -92,4 +100,34 @@ public class Sphere extends RadialGeometry {
         }
         return null;
     }
+
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        Point P0 = ray.getP0();
+
+        // if the ray starts from the center point of the sphere, it exits the sphere after the radius
+        if (center.equals(P0)) {
+            return alignZero(maxDistance - radius) > 0 ? new GeoPoint(this, ray.getPoint(radius)) : null;
+        }
+
+        Vector u = center.subtract(P0);
+        double tm = ray.getDir().dotProduct(u);
+        double dSquared = u.lengthSquared() - tm * tm;
+        double thSquared = radius * radius - dSquared;
+
+        // the ray's line doesn't cross the sphere
+        if (alignZero(thSquared) <= 0) {
+            return null;
+        }
+
+        // the nearer intersection is in front of the ray's base point unless the base point is inside the sphere
+        double th = sqrt(thSquared);
+        double t = alignZero(tm - th);
+        if (t <= 0)
+            t = alignZero(tm + th);
+        if (t <= 0 || alignZero(maxDistance - t) <= 0) {
+            return null;
+        }
+        return new GeoPoint(this, ray.getPoint(t));
+    }
 }
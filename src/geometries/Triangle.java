@@ -2,9 +2,13 @@ package geometries;
 
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
 
 /**
  * Triangle class represents two-dimensional triangles in 3D coordinate system
@@ -13,6 +17,19 @@ import java.util.List;
  */
 public class Triangle extends Polygon {
 
+    /**
+     * coordinates of the first vertex
+     */
+    private final double x0, y0, z0;
+    /**
+     * coordinates of the edge from the first vertex to the second one
+     */
+    private final double e1x, e1y, e1z;
+    /**
+     * coordinates of the edge from the first vertex to the third one
+     */
+    private final double e2x, e2y, e2z;
+
     /**
      * constructor to initialize Triangle with 3 points
      *
@@ -22,52 +39,107 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point point1, Point point2, Point point3) {
         super(point1, point2, point3);
+
+        // the edges are kept as plain numbers for the intersection calculation
+        x0 = point1.getX();
+        y0 = point1.getY();
+        z0 = point1.getZ();
+        e1x = point2.getX() - x0;
+        e1y = point2.getY() - y0;
+        e1z = point2.getZ() - z0;
+        e2x = point3.getX() - x0;
+        e2y = point3.getY() - y0;
+        e2z = point3.getZ() - z0;
     }
 
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        /**
-         // Get the origin and direction of the ray
-         Point p0 = ray.getP0();
-         Vector v = ray.getDir();
-
-         // Get the vertices of the triangle
-         Point p1 = vertices.get(0);
-         Point p2 = vertices.get(1);
-         Point p3 = vertices.get(2);
-
-         // Calculate the vectors between the triangles vertices and the ray's origin
-         Vector v1 = p1.subtract(p0);
-         Vector v2 = p2.subtract(p0);
-         Vector v3 = p3.subtract(p0);
-
-         // normal vector to the vectors calculated above
-         Vector n1 = v1.crossProduct(v2).normalize();
-         Vector n2 = v2.crossProduct(v3).normalize();
-         Vector n3 = v3.crossProduct(v1).normalize();
-
-         // Calculate the dot products of the ray direction and the normal vectors
-         double vn1 = v.dotProduct(n1);
-         double vn2 = v.dotProduct(n2);
-         double vn3 = v.dotProduct(n3);
-
-         // If the dot product of any of the normal vectors and the ray direction is zero, there are no intersections
-         if (isZero(vn1) || isZero(vn2) || isZero(vn3))
-         return null;
-
-         // If the dot products of all the normal vectors and the ray direction have the same sign
-         // the ray is intersects the triangle
-         if (vn1 > 0 && vn2 > 0 && vn3 > 0 || vn1 < 0 && vn2 < 0 && vn3 < 0)
-         return plane.findIntersections(ray);
-
-         // Otherwise, there are no intersections
-         return null;
-         */
-
-        List<GeoPoint> intersections = super.findGeoIntersectionsHelper(ray, maxDistance);
-        if (intersections == null) {
-            return null;
-        }
-        return List.of(new GeoPoint(this, intersections.get(0).point));
+        double t = intersect(ray, maxDistance);
+        return t == 0 ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+    }
+
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance);
+        return t == 0 ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    /**
+     * Calculates the intersection of a ray with the triangle by the Moller-Trumbore algorithm,
+     * without creating any intermediate vectors.
+     * Intersections on the edges and vertices of the triangle are not counted.
+     *
+     * @param ray         The ray to find the intersection with.
+     * @param maxDistance The maximum distance to consider for the intersection.
+     * @return the distance of the intersection along the ray, or 0 if there is no intersection
+     */
+    private double intersect(Ray ray, double maxDistance) {
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        return intersect(p0.getX(), p0.getY(), p0.getZ(), dir.getX(), dir.getY(), dir.getZ(),
+                x0, y0, z0, e1x, e1y, e1z, e2x, e2y, e2z, maxDistance);
+    }
+
+    /**
+     * Moller-Trumbore intersection of a ray with a triangle given by plain numbers, shared with {@link Mesh}.
+     * Intersections on the edges and vertices of the triangle are not counted.
+     *
+     * @param ox          x coordinate of the ray's base point
+     * @param oy          y coordinate of the ray's base point
+     * @param oz          z coordinate of the ray's base point
+     * @param dx          x component of the ray's direction
+     * @param dy          y component of the ray's direction
+     * @param dz          z component of the ray's direction
+     * @param x0          x coordinate of the first vertex
+     * @param y0          y coordinate of the first vertex
+     * @param z0          z coordinate of the first vertex
+     * @param e1x         x component of the edge from the first vertex to the second one
+     * @param e1y         y component of the edge from the first vertex to the second one
+     * @param e1z         z component of the edge from the first vertex to the second one
+     * @param e2x         x component of the edge from the first vertex to the third one
+     * @param e2y         y component of the edge from the first vertex to the third one
+     * @param e2z         z component of the edge from the first vertex to the third one
+     * @param maxDistance The maximum distance to consider for the intersection.
+     * @return the distance of the intersection along the ray, or 0 if there is no intersection
+     */
+    static double intersect(double ox, double oy, double oz, double dx, double dy, double dz,
+                            double x0, double y0, double z0,
+                            double e1x, double e1y, double e1z,
+                            double e2x, double e2y, double e2z,
+                            double maxDistance) {
+        // p = dir x e2
+        double px = dy * e2z - dz * e2y;
+        double py = dz * e2x - dx * e2z;
+        double pz = dx * e2y - dy * e2x;
+
+        // if the determinant is zero, the ray is parallel to the triangle's plane
+        double det = e1x * px + e1y * py + e1z * pz;
+        if (isZero(det))
+            return 0;
+        boolean positive = det > 0;
+
+        // the barycentric coordinates are tested before the division by the determinant,
+        // so that the zero tolerance is of the same scale as the edge tests of a polygon
+        double sx = ox - x0, sy = oy - y0, sz = oz - z0;
+        double uDet = alignZero(sx * px + sy * py + sz * pz);
+        if (uDet == 0 || uDet > 0 != positive)
+            return 0;
+
+        // q = s x e1
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double vDet = alignZero(dx * qx + dy * qy + dz * qz);
+        if (vDet == 0 || vDet > 0 != positive)
+            return 0;
+        double wDet = alignZero(det - uDet - vDet);
+        if (wDet == 0 || wDet > 0 != positive)
+            return 0;
+
+        // distance along the ray
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) / det);
+        if (t <= 0 || alignZero(maxDistance - t) <= 0)
+            return 0;
+        return t;
     }
 }
@@ -75,6 +75,33 @@ public class Color {
         return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
     }
 
+    /**
+     * Red component getter, without the upper limit of 255
+     *
+     * @return the red component
+     */
+    public double getRed() {
+        return rgb.d1;
+    }
+
+    /**
+     * Green component getter, without the upper limit of 255
+     *
+     * @return the green component
+     */
+    public double getGreen() {
+        return rgb.d2;
+    }
+
+    /**
+     * Blue component getter, without the upper limit of 255
+     *
+     * @return the blue component
+     */
+    public double getBlue() {
+        return rgb.d3;
+    }
+
     /**
      * Operation of adding this and one or more other colors (by component)
      *
@@ -144,14 +171,18 @@ public class Color {
         return "rgb:" + rgb;
     }
 
+    /**
+     * Checks whether two colors look almost the same - every component of their java.awt.Color
+     * differs by 10 at most
+     *
+     * @param other the other color
+     * @return true if the colors are almost equal
+     */
     public boolean almostEquals(Color other) {
         java.awt.Color thisColor = this.getColor();
         java.awt.Color otherColor = other.getColor();
-        if ((thisColor.getBlue() + 10 == otherColor.getBlue() || thisColor.getBlue() == otherColor.getBlue() + 10) &&
-                (thisColor.getRed() + 10 == otherColor.getRed() || thisColor.getRed() == otherColor.getRed() + 10) &&
-                (thisColor.getGreen() + 10 == otherColor.getGreen() || thisColor.getGreen() == otherColor.getGreen() + 10)) {
-            return true;
-        }
-        return false;
+        return Math.abs(thisColor.getRed() - otherColor.getRed()) <= 10
+                && Math.abs(thisColor.getGreen() - otherColor.getGreen()) <= 10
+                && Math.abs(thisColor.getBlue() - otherColor.getBlue()) <= 10;
     }
 }
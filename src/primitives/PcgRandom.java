@@ -0,0 +1,136 @@
+package primitives;
+
+/**
+ * PcgRandom is a small and fast pseudo random number generator of the PCG family (PCG-XSH-RR 64/32).<br/>
+ * A generator is defined by a seed and a stream, so every pixel of an image can have a sequence of its own
+ * by using the pixel's index as the stream. A generator is not thread safe - every thread uses its own one,
+ * which {@link #current()} returns, and which the camera reseeds for every pixel. This way the random numbers
+ * of a pixel do not depend on the thread that renders it, and the threads never contend on a shared generator.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public final class PcgRandom {
+
+    /**
+     * Multiplier of the linear congruential step
+     */
+    private static final long MULTIPLIER = 6364136223846793005L;
+
+    /**
+     * Generator of every thread
+     */
+    private static final ThreadLocal<PcgRandom> CURRENT =
+            ThreadLocal.withInitial(() -> new PcgRandom(0, Thread.currentThread().getId()));
+
+    /**
+     * State of the linear congruential step
+     */
+    private long state;
+
+    /**
+     * Increment of the linear congruential step, which is odd and selects the stream
+     */
+    private long increment;
+
+    /**
+     * constructor to initialize the generator at the start of a sequence
+     *
+     * @param seed   the seed of the sequence
+     * @param stream the stream of the sequence - generators of the same seed and different streams
+     *               produce independent sequences
+     */
+    public PcgRandom(long seed, long stream) {
+        reseed(seed, stream);
+    }
+
+    /**
+     * Returns the generator of the current thread
+     *
+     * @return the generator of the current thread
+     */
+    public static PcgRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Restarts the generator at the start of a sequence, without creating a new generator
+     *
+     * @param seed   the seed of the sequence
+     * @param stream the stream of the sequence
+     * @return the generator itself
+     */
+    public PcgRandom reseed(long seed, long stream) {
+        // consecutive streams of PCG are correlated, so the stream and seed are scrambled first
+        increment = mix(stream) << 1 | 1;
+        state = 0;
+        nextInt();
+        state += mix(seed ^ stream);
+        nextInt();
+        return this;
+    }
+
+    /**
+     * Scrambles the bits of a number by the finalizer of SplitMix64
+     *
+     * @param z the number
+     * @return the scrambled number
+     */
+    private static long mix(long z) {
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
+    /**
+     * Returns the next number of the sequence
+     *
+     * @return a uniformly distributed integer of 32 bits
+     */
+    public int nextInt() {
+        long old = state;
+        state = old * MULTIPLIER + increment;
+        int xorShifted = (int) ((old >>> 18 ^ old) >>> 27);
+        return Integer.rotateRight(xorShifted, (int) (old >>> 59));
+    }
+
+    /**
+     * Returns the next number of the sequence in a range
+     *
+     * @param bound the end of the range (excluded)
+     * @return a uniformly distributed integer between 0 (included) and the bound (excluded)
+     * @throws IllegalArgumentException if the bound is not positive
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("Bound must be positive");
+        // Lemire's multiply and reject method, without bias
+        long product = (nextInt() & 0xFFFFFFFFL) * bound;
+        if ((product & 0xFFFFFFFFL) < bound) {
+            long threshold = (1L << 32) % bound;
+            while ((product & 0xFFFFFFFFL) < threshold)
+                product = (nextInt() & 0xFFFFFFFFL) * bound;
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Returns the next real number of the sequence
+     *
+     * @return a uniformly distributed real number between 0 (included) and 1 (excluded), of 53 random bits
+     */
+    public double nextDouble() {
+        long bits = (long) nextInt() << 32 | nextInt() & 0xFFFFFFFFL;
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns the next real number of the sequence in a range
+     *
+     * @param min the start of the range (included)
+     * @param max the end of the range (excluded)
+     * @return a uniformly distributed real number between min and max
+     */
+    public double nextDouble(double min, double max) {
+        return nextDouble() * (max - min) + min;
+    }
+}
@@ -1,6 +1,6 @@
 package primitives;
 
-import java.util.Objects;
+import static primitives.Util.isZero;
 
 /**
  * class Point is the basic class representing a point of a Euclidean geometry in Cartesian 3-Dimensional coordinate system
@@ -15,9 +15,10 @@ public class Point {
     public static final Point ZERO = new Point(0, 0, 0);
 
     /**
-     * 3 coordinates of the Point
+     * 3 coordinates of the Point, kept directly in the object
+     * so that an arithmetic operation allocates only its result
      **/
-    final Double3 xyz;
+    final double x, y, z;
 
     /**
      * constructor to initialize the Point object with 3 given coordinates
@@ -27,16 +28,9 @@ public class Point {
      * @param d3 Third number value
      */
     public Point(double d1, double d2, double d3) {
-        this.xyz = new Double3(d1, d2, d3);
-    }
-
-    /**
-     * constructor to initialize the Point object with values from a given Double3 object
-     *
-     * @param xyz Double3 object of Point's coordinates
-     */
-    Point(Double3 xyz) {
-        this(xyz.d1, xyz.d2, xyz.d3);
+        this.x = d1;
+        this.y = d2;
+        this.z = d3;
     }
 
 
@@ -46,7 +40,7 @@ public class Point {
      * @return The x coordinate of the point.
      */
     public double getX() {
-        return xyz.d1;
+        return x;
     }
 
     /**
@@ -55,7 +49,7 @@ public class Point {
      * @return The y coordinate of the point.
      */
     public double getY() {
-        return xyz.d2;
+        return y;
     }
 
     /**
@@ -64,7 +58,7 @@ public class Point {
      * @return The z coordinate of the point.
      */
     public double getZ() {
-        return xyz.d3;
+        return z;
     }
 
 
@@ -75,7 +69,7 @@ public class Point {
      * @return vector between P1 and current Point
      */
     public Vector subtract(Point point2) {
-        return new Vector(this.xyz.subtract(point2.xyz));
+        return new Vector(x - point2.x, y - point2.y, z - point2.z);
     }
 
     /**
@@ -85,7 +79,7 @@ public class Point {
      * @return new point that
      */
     public Point add(Vector vector) {
-        return new Point(this.xyz.add(vector.xyz));
+        return new Point(x + vector.x, y + vector.y, z + vector.z);
     }
 
     /**
@@ -96,7 +90,10 @@ public class Point {
      */
     public double distanceSquared(Point point2) {
         // distance squared is the sum of the squares of the difference between corresponding coordinates of the two points
-        return (this.xyz.d1 - point2.xyz.d1) * (this.xyz.d1 - point2.xyz.d1) + (this.xyz.d2 - point2.xyz.d2) * (this.xyz.d2 - point2.xyz.d2) + (this.xyz.d3 - point2.xyz.d3) * (this.xyz.d3 - point2.xyz.d3);
+        double dx = x - point2.x;
+        double dy = y - point2.y;
+        double dz = z - point2.z;
+        return dx * dx + dy * dy + dz * dz;
     }
 
     /**
@@ -115,17 +112,27 @@ public class Point {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Point point = (Point) o;
-        return xyz.equals(point.xyz);
+        return isZero(x - point.x) && isZero(y - point.y) && isZero(z - point.z);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(xyz);
+        // coarse like the equality with tolerance
+        return (int) Math.round(x + y + z);
     }
 
     @Override
     public String toString() {
-        return "Point: " + xyz;
+        return "Point: " + coordinatesString();
+    }
+
+    /**
+     * formats the coordinates for the string representations of points and vectors
+     *
+     * @return the coordinates in parentheses
+     */
+    String coordinatesString() {
+        return "(" + x + "," + y + "," + z + ")";
     }
 }
 
@@ -60,14 +60,15 @@ public abstract class Util {
     }
 
     /**
-     * Provide a real random number in range between min and max
+     * Provide a real random number in range between min and max, by the generator of the current thread.
+     * During a rendering the camera seeds the generator for every pixel, so the numbers are reproducible.
      *
      * @param min value (included)
      * @param max value (excluded)
      * @return the random value
      */
     public static double random(double min, double max) {
-        return Math.random() * (max - min) + min;
+        return PcgRandom.current().nextDouble(min, max);
     }
 
 }
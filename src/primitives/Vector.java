@@ -18,17 +18,20 @@ public class Vector extends Point {
      */
     public Vector(double d1, double d2, double d3) {
         super(d1, d2, d3);
-        if (this.xyz.equals(Double3.ZERO))
+        if (isZero(d1) && isZero(d2) && isZero(d3))
             throw new IllegalArgumentException("Can't create Zero vector");
     }
 
     /**
-     * constructor to initialize the Vector object with values from a given Double3 object
+     * constructor without the zero vector check, for results that are known to be non-zero
      *
-     * @param xyz Double3 object of Vector's coordinates
+     * @param d1        first number value
+     * @param d2        second number value
+     * @param d3        third number value
+     * @param unchecked marks the constructor as unchecked, the value itself is ignored
      */
-    Vector(Double3 xyz) {
-        this(xyz.d1, xyz.d2, xyz.d3);
+    Vector(double d1, double d2, double d3, boolean unchecked) {
+        super(d1, d2, d3);
     }
 
     /**
@@ -39,7 +42,7 @@ public class Vector extends Point {
      */
     @Override
     public Point add(Vector vector2) {
-        return new Vector(this.xyz.add(vector2.xyz));
+        return new Vector(x + vector2.x, y + vector2.y, z + vector2.z);
     }
 
     /**
@@ -51,7 +54,7 @@ public class Vector extends Point {
     public Vector scale(double number) {
         if (isZero(number))
             return this;
-        return new Vector(this.xyz.scale(number));
+        return new Vector(x * number, y * number, z * number);
     }
 
     /**
@@ -61,7 +64,7 @@ public class Vector extends Point {
      * @return result of multiplication
      */
     public double dotProduct(Vector vector2) {
-        return this.xyz.d1 * vector2.xyz.d1 + this.xyz.d2 * vector2.xyz.d2 + this.xyz.d3 * vector2.xyz.d3;
+        return x * vector2.x + y * vector2.y + z * vector2.z;
     }
 
     /**
@@ -72,9 +75,9 @@ public class Vector extends Point {
      */
     public Vector crossProduct(Vector vector2) {
         // calculates each coordinate of the result vector according to the determinant of the cross multiplication matrix
-        double coorI = this.xyz.d2 * vector2.xyz.d3 - this.xyz.d3 * vector2.xyz.d2;
-        double coorJ = this.xyz.d1 * vector2.xyz.d3 - this.xyz.d3 * vector2.xyz.d1;
-        double coorK = this.xyz.d1 * vector2.xyz.d2 - this.xyz.d2 * vector2.xyz.d1;
+        double coorI = y * vector2.z - z * vector2.y;
+        double coorJ = x * vector2.z - z * vector2.x;
+        double coorK = x * vector2.y - y * vector2.x;
 
         return new Vector(coorI, coorJ * -1, coorK);
     }
@@ -85,9 +88,7 @@ public class Vector extends Point {
      * @return squared length
      */
     public double lengthSquared() {
-        double result = xyz.d1 * xyz.d1 + xyz.d2 * xyz.d2 + xyz.d3 * xyz.d3;
-
-        return result;
+        return x * x + y * y + z * z;
     }
 
     /**
@@ -105,20 +106,15 @@ public class Vector extends Point {
      * @return normalized vector
      */
     public Vector normalize() {
-        //for performance reasons we don't use the following
-        //return new Vector(xyz.reduce(this.length()));
         double len = length();
 
-        double x = xyz.d1 / len;
-        double y = xyz.d2 / len;
-        double z = xyz.d3 / len;
-
-        return new Vector(x, y, z);
+        // a unit vector can't be zero
+        return new Vector(x / len, y / len, z / len, true);
     }
 
     @Override
     public String toString() {
-        return "Vector:" + xyz;
+        return "Vector:" + coordinatesString();
     }
 
     @Override
@@ -126,7 +122,7 @@ public class Vector extends Point {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Vector vector = (Vector) o;
-        return xyz.equals(vector.xyz);
+        return isZero(x - vector.x) && isZero(y - vector.y) && isZero(z - vector.z);
     }
 
 
@@ -0,0 +1,153 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AdaptiveSampler is a helper class for adaptive super-sampling of the pixels of a camera.<br/>
+ * Every pixel is a square of a quadtree: the colors of its corners are traced, and a square whose corners
+ * differ is divided into 4 squares, down to a maximal depth. The corners lie on a grid of the whole view plane,
+ * and their colors are cached by their grid coordinates, so a corner that is shared by adjacent squares
+ * or adjacent pixels of a tile is traced once. The subdivision uses an explicit stack instead of recursion.<br/>
+ * A sampler is not thread-safe - every tile is rendered with a sampler of its own, so the corners on the border
+ * between two tiles are traced once by each of the tiles.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class AdaptiveSampler {
+
+    /**
+     * the ray tracer of the sample rays
+     */
+    private final RayTracerBase rayTracer;
+
+    /**
+     * the camera's position, which the sample rays start at
+     */
+    private final Point p0;
+
+    /**
+     * the top left corner of the view plane
+     */
+    private final Point topLeft;
+
+    /**
+     * step along the view plane's right and down directions between adjacent grid corners
+     */
+    private final Vector right, down;
+
+    /**
+     * maximal depth of the quadtree of a pixel
+     */
+    private final int maxDepth;
+
+    /**
+     * colors of the traced grid corners by their grid coordinates
+     */
+    private final Map<Long, Color> corners = new HashMap<>();
+
+    /**
+     * stack of the squares that are waiting for their corners - x, y and size in grid cells for each square
+     */
+    private int[] stack = new int[96];
+
+    /**
+     * Constructor to initialize the sampler with the view plane of a camera
+     *
+     * @param rayTracer the ray tracer of the sample rays
+     * @param p0        the camera's position
+     * @param topLeft   the top left corner of the view plane
+     * @param vRight    the right direction of the view plane, normalized
+     * @param vUp       the up direction of the view plane, normalized
+     * @param rX        the width of a pixel
+     * @param rY        the height of a pixel
+     * @param maxDepth  the maximal depth of the quadtree of a pixel, a pixel is divided into at most
+     *                  2^maxDepth x 2^maxDepth squares
+     */
+    AdaptiveSampler(RayTracerBase rayTracer, Point p0, Point topLeft, Vector vRight, Vector vUp,
+                    double rX, double rY, int maxDepth) {
+        this.rayTracer = rayTracer;
+        this.p0 = p0;
+        this.topLeft = topLeft;
+        this.right = vRight.scale(rX / (1 << maxDepth));
+        this.down = vUp.scale(-rY / (1 << maxDepth));
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Calculates the color of a pixel by adaptive super-sampling
+     *
+     * @param j the pixel's column
+     * @param i the pixel's row
+     * @return the color of the pixel - the area weighted average of the squares of its quadtree
+     */
+    Color samplePixel(int j, int i) {
+        int pixelSize = 1 << maxDepth;
+        double r = 0, g = 0, b = 0;
+
+        int top = 0;
+        stack[top++] = j << maxDepth;
+        stack[top++] = i << maxDepth;
+        stack[top++] = pixelSize;
+        while (top > 0) {
+            int size = stack[--top];
+            int y = stack[--top];
+            int x = stack[--top];
+
+            Color c1 = corner(x, y);
+            Color c2 = corner(x + size, y);
+            Color c3 = corner(x, y + size);
+            Color c4 = corner(x + size, y + size);
+
+            if (size > 1 && !(c1.almostEquals(c2) && c1.almostEquals(c3) && c1.almostEquals(c4))) {
+                // divide the square into 4 squares
+                if (top + 12 > stack.length) {
+                    int[] bigger = new int[2 * stack.length];
+                    System.arraycopy(stack, 0, bigger, 0, top);
+                    stack = bigger;
+                }
+                int half = size / 2;
+                for (int dy = 0; dy <= half; dy += half)
+                    for (int dx = 0; dx <= half; dx += half) {
+                        stack[top++] = x + dx;
+                        stack[top++] = y + dy;
+                        stack[top++] = half;
+                    }
+                continue;
+            }
+
+            // the square's part of the pixel's area, shared equally by its corners
+            double weight = (double) size * size / (4.0 * pixelSize * pixelSize);
+            r += weight * (c1.getRed() + c2.getRed() + c3.getRed() + c4.getRed());
+            g += weight * (c1.getGreen() + c2.getGreen() + c3.getGreen() + c4.getGreen());
+            b += weight * (c1.getBlue() + c2.getBlue() + c3.getBlue() + c4.getBlue());
+        }
+        return new Color(r, g, b);
+    }
+
+    /**
+     * Returns the color of a grid corner, traced only the first time it is needed
+     *
+     * @param x the grid column of the corner
+     * @param y the grid row of the corner
+     * @return the color of the corner
+     */
+    private Color corner(int x, int y) {
+        long key = (long) x << 32 | y & 0xFFFFFFFFL;
+        Color color = corners.get(key);
+        if (color == null) {
+            Point point = new Point(
+                    topLeft.getX() + x * right.getX() + y * down.getX(),
+                    topLeft.getY() + x * right.getY() + y * down.getY(),
+                    topLeft.getZ() + x * right.getZ() + y * down.getZ());
+            color = rayTracer.traceRay(new Ray(p0, point.subtract(p0)));
+            corners.put(key, color);
+        }
+        return color;
+    }
+}
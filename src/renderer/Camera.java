@@ -1,14 +1,19 @@
 package renderer;
 
+import geometries.Geometry;
+import geometries.Intersectable.GeoPoint;
 import primitives.Color;
+import primitives.PcgRandom;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
-import java.util.ArrayList;
+import java.io.Serial;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.MissingResourceException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
@@ -74,17 +79,106 @@ public class Camera {
 
     private boolean adaptive;
 
+    /**
+     * The pattern of the anti-aliasing samples in a pixel, null for the regular beam of rays.
+     */
+    private SamplePattern samplePattern = null;
+
+    /**
+     * The maximal estimated error of the color of a pixel in variance driven sampling, 0 without it.
+     */
+    private double varianceThreshold = 0;
+
+    /**
+     * The maximal amount of samples of a pixel in variance driven sampling.
+     */
+    private int maxSamples = 0;
+
     private int threadsCount = 0;
 
 
     /**
-     * Pixel manager for supporting:
-     * <ul>
-     * <li>multi-threading</li>
-     * <li>debug print of progress percentage in Console window/tab</li>
-     * <ul>
+     * The width and height in pixels of the tiles that the rendering threads take one at a time.
+     */
+    private int tileSize = 16;
+
+    /**
+     * The pool for rendering in fork-join mode, null for rendering with the camera's own threads.
+     */
+    private ForkJoinPool forkJoinPool = null;
+
+    /**
+     * The executor for rendering by tasks, null for rendering with the camera's own threads.
+     */
+    private ExecutorService executor = null;
+
+    /**
+     * The amount of tasks that render tiles at once in the executor.
+     */
+    private int parallelism = 1;
+
+    /**
+     * The progressive flag - render one ray per pixel first, and refine the image in the next passes.
      */
-    private PixelManager pixelManager;
+    private boolean progressive = false;
+
+    /**
+     * The snapshots flag - write the image after every pass of a progressive rendering.
+     */
+    private boolean snapshots = false;
+
+    /**
+     * The colors of the pixels of the last finished rendering, null if it was streamed.
+     */
+    private FrameBuffer frameBuffer;
+
+    /**
+     * The writer that the image is streamed into band after band of rows, null for rendering into the image writer.
+     */
+    private PngStreamWriter streamWriter = null;
+
+    /**
+     * The amount of tile rows in a band of rows that is rendered and streamed at once.
+     */
+    private static final int BAND_TILES = 4;
+
+    /**
+     * The edge anti-aliasing flag - cast one ray through every pixel first,
+     * and super-sample only the pixels on the edges of the image.
+     */
+    private boolean edgeAntiAliasing = false;
+
+    /**
+     * The largest difference of a color component between adjacent pixels that are not on an edge.
+     */
+    private static final double EDGE_CONTRAST = 10;
+
+    /**
+     * The smallest cosine of the angle between the normals of adjacent pixels that are not on an edge.
+     */
+    private static final double EDGE_COS = 0.9;
+
+    /**
+     * The amount of pixels that were found on edges by the last finished rendering,
+     * 0 if it was not an edge anti-aliasing rendering.
+     */
+    private int edgePixels = 0;
+
+    /**
+     * The statistics flag - count the rays, the intersection tests and the times of the renderings.
+     */
+    private boolean statistics = false;
+
+    /**
+     * The performance report of the last rendering, null if it was not counted.
+     */
+    private RenderStats renderStats = null;
+
+    /**
+     * The seed of the random numbers of the renderings. The generator of the rendering thread
+     * is seeded by it and by the pixel before every pixel, so stochastic effects don't depend on the threads.
+     */
+    private long randomSeed = 0;
 
     /**
      * The interval (in seconds) between printing camera updates for multithreading.
@@ -161,6 +255,20 @@ public class Camera {
         return this;
     }
 
+    /**
+     * sets a writer that the image is streamed into while it is rendered, instead of the image writer.
+     * The image is rendered in bands of a few tile rows, and every band is written and dropped
+     * before the next one, so the memory doesn't depend on the height of the image.
+     * The progressive mode is ignored when streaming.
+     *
+     * @param streamWriter the writer to stream into, or null to render into the image writer
+     * @return this Camera object
+     */
+    public Camera setStreamWriter(PngStreamWriter streamWriter) {
+        this.streamWriter = streamWriter;
+        return this;
+    }
+
     /**
      * sets the RayTracerBase of the Camera
      *
@@ -194,6 +302,43 @@ public class Camera {
         return this;
     }
 
+    /**
+     * sets the pattern of the anti-aliasing samples - superSampling x superSampling samples per pixel,
+     * seeded by the pixel's coordinates so that every rendering of the image is the same.
+     *
+     * @param samplePattern the pattern of the samples, e.g. one of {@link SamplePatterns},
+     *                      or null for the regular beam of rays
+     * @return the Camera object
+     */
+    public Camera setSamplePattern(SamplePattern samplePattern) {
+        this.samplePattern = samplePattern;
+        return this;
+    }
+
+    /**
+     * sets variance driven sampling - every pixel is sampled until the estimated error of its color
+     * drops below the threshold, or until it has the maximal amount of samples.
+     * The samples are placed by the camera's sample pattern, or by {@link SamplePatterns#SOBOL} without one,
+     * and the amounts of samples of the pixels are kept in the frame buffer
+     * (see {@link FrameBuffer#resolveSampleMap(ImageWriter)}).
+     * Variance driven sampling replaces the super-sampling and the adaptive super-sampling of the camera.
+     *
+     * @param threshold  the maximal estimated error of a color component (of 0 to 255), 0 to turn it off
+     * @param maxSamples the maximal amount of samples of a pixel
+     * @return the Camera object
+     * @throws IllegalArgumentException if the threshold is negative or the maximal amount of samples is too small
+     */
+    public Camera setVarianceSampling(double threshold, int maxSamples) {
+        if (threshold < 0)
+            throw new IllegalArgumentException("Variance threshold must not be negative");
+        if (threshold > 0 && maxSamples < VarianceSampler.MIN_SAMPLES)
+            throw new IllegalArgumentException("Maximal amount of samples must be at least "
+                    + VarianceSampler.MIN_SAMPLES);
+        this.varianceThreshold = threshold;
+        this.maxSamples = maxSamples;
+        return this;
+    }
+
     /**
      * The setter initialize rendering-progress printing time interval in seconds
      *
@@ -223,6 +368,139 @@ public class Camera {
     }
 
 
+    /**
+     * Sets a fork-join pool for rendering the image, instead of the threads of {@link #setMultithreading(int)}.
+     * The image is split recursively into regions, and idle workers of the pool steal the regions
+     * that are left, so that expensive parts of the image don't keep a single thread busy at the end.
+     * The same pool can be shared by several cameras.
+     *
+     * @param forkJoinPool the pool to render with, or null to stop rendering in fork-join mode
+     * @return This Camera object
+     */
+    public Camera setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * Sets an executor for rendering the image, instead of the threads of {@link #setMultithreading(int)}.
+     * A bounded amount of tasks take the tiles of the image, so several cameras can render at once
+     * through a shared executor of a service without a thread of their own for every tile.
+     * A failure of one task, or an interruption of the rendering thread, cancels all the tasks.
+     *
+     * @param executor    the executor to render with, or null to stop rendering by an executor
+     * @param parallelism the amount of tiles that are rendered at once
+     * @return This Camera object
+     */
+    public Camera setExecutor(ExecutorService executor, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        this.executor = executor;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the progressive rendering mode. The first pass casts one ray of the super-sampling beam
+     * through every pixel - the ray through the middle cell of its superSampling x superSampling grid -
+     * and every next pass doubles the amount of the beam's rays, so a preview is ready after the first pass
+     * and the final image is the image of the super-sampling beam.
+     * The adaptive flag is ignored in this mode.
+     *
+     * @param progressive the progressive flag
+     * @param snapshots   true to write the image after every pass
+     * @return This Camera object
+     */
+    public Camera setProgressive(boolean progressive, boolean snapshots) {
+        this.progressive = progressive;
+        this.snapshots = snapshots;
+        return this;
+    }
+
+    /**
+     * Sets the edge anti-aliasing mode. The first pass casts one ray through the center of every pixel,
+     * and keeps the geometry and the normal that the ray hits. Pixels whose geometry, normal or color differs
+     * from an adjacent pixel are on an edge, and only they are super-sampled in the second pass,
+     * by the regular beam or by the sample pattern of the camera.<br/>
+     * The mode is used with super-sampling, and it is ignored in the progressive, adaptive,
+     * variance driven and streaming modes.
+     *
+     * @param edgeAntiAliasing the edge anti-aliasing flag
+     * @return This Camera object
+     */
+    public Camera setEdgeAntiAliasing(boolean edgeAntiAliasing) {
+        this.edgeAntiAliasing = edgeAntiAliasing;
+        return this;
+    }
+
+    /**
+     * Sets the statistics mode - the renderings count their rays, intersection tests and times
+     * into a report (see {@link #getRenderStats()}). The counting costs a little time.
+     * Every rendering counts into its own report, so cameras that render at the same time don't mix their counts.
+     *
+     * @param statistics the statistics flag
+     * @return This Camera object
+     */
+    public Camera setStatistics(boolean statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random numbers of the renderings (see {@link PcgRandom#current()}).
+     * Renderings of the same seed produce the same image, whatever the amount of threads is.
+     *
+     * @param randomSeed the seed
+     * @return This Camera object
+     */
+    public Camera setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+        return this;
+    }
+
+    /**
+     * getter
+     *
+     * @return the performance report of the last rendering, null if it was rendered without statistics
+     */
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
+    /**
+     * getter
+     *
+     * @return the amount of pixels that were found on edges and super-sampled
+     * by the last rendering, 0 if it was not an edge anti-aliasing rendering
+     */
+    public int getEdgePixels() {
+        return edgePixels;
+    }
+
+    /**
+     * getter
+     *
+     * @return the colors of the last rendered image, before they were clamped into the image writer
+     */
+    public FrameBuffer getFrameBuffer() {
+        return frameBuffer;
+    }
+
+    /**
+     * Sets the size of the square tiles that the image is divided into for rendering.
+     * Small tiles balance the work between the threads better, big tiles are handed out less often.
+     *
+     * @param tileSize the width and height of a tile in pixels
+     * @return This Camera object
+     */
+    public Camera setTileSize(int tileSize) {
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("Tile size must be positive");
+        this.tileSize = tileSize;
+        return this;
+    }
+
+
     /**
      * Constructs a new ray from the camera's position through the specified
      * pixel coordinates in the viewPlane.
@@ -255,97 +533,26 @@ public class Camera {
 
 
     /**
-     * Casts a ray through a pixel at position (j, i) on the view plane,
-     * and returns the color of the closest intersected geometry, if any.
-     *
-     * @param nX the number of pixels along the width of the image plane
-     * @param nY the number of pixels along the height of the image plane
-     * @param j  the horizontal index of the pixel which was being cast
-     * @param i  the vertical index of the pixel which was being cast
-     * @return the color of the closest intersected geometry, if any
-     */
-    private Color castRay(int nX, int nY, int j, int i) {
-        Ray ray = constructRay(nX, nY, j, i);
-        return rayTracer.traceRay(ray);
-    }
-
-
-    /**
-     * Casts multiple rays through a pixel with anti-aliasing and calculates the color at that pixel.
+     * Renders an image using the camera's settings.
      *
-     * @param nX the number of pixels along the x-axis
-     * @param nY the number of pixels along the y-axis
-     * @param j  the pixel's x-coordinate
-     * @param i  the pixel's y-coordinate
-     * @return the color at the pixel
-     */
-    private Color castRayBeam(int nX, int nY, int j, int i) {
-        int superSamp = superSampling;
-        List<Ray> ans = new ArrayList<>();
-
-        // Image center
-        Point p = p0.add(vTo.scale(distance));
-
-        // Ratio (pixel width & height)
-        double rY = height / nY;
-        double rX = width / nX;
-
-        // Pixel[i,j] center
-        double yI = -(i - ((nY - 1) / 2)) * rY;
-        double xJ = (j - ((nX - 1) / 2)) * rX;
-
-        // Distance between the start of the ray in the pixel
-        double dX = (double) rX / superSamp;
-        double dY = (double) rY / superSamp;
-
-        // The first point
-        double firstX = xJ + ((int) (superSamp / 2)) * dX;
-        double firstY = yI + ((int) (superSamp / 2)) * dY;
-        Point pIJ = p;
-        if (!isZero(firstX))
-            pIJ = pIJ.add(vRight.scale(firstX));
-        if (!isZero(firstY))
-            pIJ = pIJ.add(vUp.scale(firstY));
-        Point p1 = pIJ;
-
-        // Generate the rays for the ray beam
-        for (int c = 0; c < superSamp; c++) {
-            for (int b = 0; b < superSamp; b++) {
-                p1 = pIJ;
-                if (!isZero(c)) {
-                    p1 = p1.add(vRight.scale(dX * c));
-                }
-                if (!isZero(b)) {
-                    p1 = p1.add(vUp.scale(dY * b));
-                }
-
-                ans.add(new Ray(p0, p1.subtract(p0)));
-            }
-        }
-
-        // Calculate the average color from the rays in the beam
-        double r = 0, g = 0, b = 0;
-        for (Ray ray : ans) {
-            Color rayColor = rayTracer.traceRay(ray);
-            r += rayColor.getColor().getRed();
-            g += rayColor.getColor().getGreen();
-            b += rayColor.getColor().getBlue();
-        }
-        r = r / (ans.size());
-        g = g / (ans.size());
-        b = b / (ans.size());
-
-        return new Color(r, g, b);
+     * @return this camera object
+     * @throws MissingResourceException if one of the camera's fields is missing
+     */
+    public Camera renderImage() {
+        return renderImage(null);
     }
 
-
     /**
-     * Renders an image using the camera's settings.
+     * Renders an image using the camera's settings, until it is done or stopped by a token.
+     * A stopped rendering leaves the tiles that were not reached unrendered
+     * (or, in progressive mode, at the quality of the previous pass),
+     * and the completed part of the work is reported to the token.
      *
+     * @param token the token that stops the rendering, or null to render the whole image
      * @return this camera object
      * @throws MissingResourceException if one of the camera's fields is missing
      */
-    public Camera renderImage() {
+    public Camera renderImage(RenderToken token) {
         if (p0 == null)
             throw new MissingResourceException("missing the camera's position in 3D space", "Point", "p0");
         if (vTo == null)
@@ -358,168 +565,804 @@ public class Camera {
             throw new MissingResourceException("missing the width of the camera's view plane", "double", "width");
 
 
-        if (imageWriter == null)
+        if (imageWriter == null && streamWriter == null)
             throw new MissingResourceException("missing the image writer of the camera", "ImageWriter", "imageWriter");
         if (rayTracer == null)
             throw new MissingResourceException("missing the ray tracer of the camera", "RayTracerBase", "rayTracer");
 
 
-        int nX = imageWriter.getNx();
-        int nY = imageWriter.getNy();
-
-        pixelManager = new PixelManager(nY, nX, printInterval);
+        int nX = streamWriter != null ? streamWriter.getNx() : imageWriter.getNx();
+        int nY = streamWriter != null ? streamWriter.getNy() : imageWriter.getNy();
 
         int amountOfRays = superSampling == 0 ? 1 : superSampling;
 
-        if (threadsCount == 0) {
-            Color color;
-            // Iterate over the width of the image (columns)
-            for (int j = 0; j < nX; j++) {
-
-                // Iterate over the height of the image (rows)
-                for (int i = 0; i < nY; i++) {
-
-                    renderPixel(j, i, amountOfRays);
-                }
-            }
-        } else {
-            var threads = new LinkedList<Thread>(); // list of threads
-            while (threadsCount-- > 0) // add appropriate number of threads
-                threads.add(new Thread(() -> { // add a thread with its code
-                    PixelManager.Pixel pixel; // current pixel(row,col)
+        // the threads of the rendering share its state, so other renderings of the camera may run at once
+        Rendering rendering = new Rendering(nX, nY, token);
+        long start = System.nanoTime();
+        double completed;
+        try {
+            completed = rendering.render(amountOfRays);
+        } finally {
+            renderStats = rendering.statsCollector == null ? null
+                    : rendering.statsCollector.finish(System.nanoTime() - start);
+        }
+        frameBuffer = rendering.frameBuffer;
+        edgePixels = rendering.edgePixels;
+        if (token != null)
+            token.setCompleted(completed);
+        return this;
+    }
 
-                    // allocate pixel(row,col) in loop until there are no more pixels
-                    Color color;
-                    while ((pixel = pixelManager.nextPixel()) != null) {
+    /**
+     * Clamps the color of a ray of a beam into the whole 8 bit components of an image,
+     * as the colors of the beam are averaged
+     *
+     * @param color the color of the ray
+     * @return the clamped color
+     */
+    private static Color beamSample(Color color) {
+        return new Color(color.getColor());
+    }
 
-                        renderPixel(pixel.col(), pixel.row(), amountOfRays);
-                    }
-                }));
+    /**
+     * Calculates the greatest common divisor of two positive numbers
+     *
+     * @param a first number
+     * @param b second number
+     * @return the greatest common divisor
+     */
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
 
-            // start all the threads
-            for (var thread : threads)
-                thread.start();
-            // wait until all the threads have finished
+    /**
+     * Waits until the tasks of a rendering finished, so none of them writes into the image after the rendering.
+     * An interrupt while waiting is kept for the caller.
+     *
+     * @param finished the latch of the tasks
+     */
+    private static void awaitUninterruptibly(CountDownLatch finished) {
+        boolean interrupted = false;
+        while (true) {
             try {
-                for (var thread : threads) thread.join();
-            } catch (InterruptedException ignore) {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
             }
         }
-        return this;
+        if (interrupted)
+            Thread.currentThread().interrupt();
     }
 
     /**
-     * Renders a single pixel of the image.
-     *
-     * @param x            the x-coordinate of the pixel
-     * @param y            the y-coordinate of the pixel
-     * @param amountOfRays the number of rays to be cast through the pixel
-     * @throws MissingResourceException if the imageWriter or viewPlane dimensions were not set
+     * A single rendering of the camera's image - the state that the threads or tasks of the rendering share.
+     * Every rendering has its own state, so a camera can render several images at once,
+     * as long as its settings are not changed while it renders.
      */
-    private void renderPixel(int x, int y, int amountOfRays) {
-        Color color;
-        int nX = imageWriter.getNx();
-        int nY = imageWriter.getNy();
+    private class Rendering {
+        /**
+         * The amount of pixels along the x-axis of the rendered image.
+         */
+        private final int resolutionX;
+
+        /**
+         * The amount of pixels along the y-axis of the rendered image.
+         */
+        private final int resolutionY;
+
+        /**
+         * The generator of the primary rays of the rendering.
+         */
+        private final RayGenerator rayGenerator;
+
+        /**
+         * The token that stops the rendering, null if the rendering can't be stopped
+         */
+        private final RenderToken renderToken;
+
+        /**
+         * The counters of the rendering, null if it is not counted
+         */
+        private final RenderStats.Collector statsCollector;
+
+        /**
+         * Tile manager of the current pass, for supporting:
+         * <ul>
+         * <li>multi-threading</li>
+         * <li>debug print of progress percentage in Console window/tab</li>
+         * <ul>
+         */
+        private TileManager tileManager;
+
+        /**
+         * The colors of the rendered pixels, resolved into the image writer at the end of the rendering.
+         */
+        private FrameBuffer frameBuffer;
+
+        /**
+         * The image row of the first row of the frame buffer - not 0 when a band of rows is rendered.
+         */
+        private int frameRow = 0;
+
+        /**
+         * The first sample of the current progressive pass (sample 0 is the pixel's center).
+         */
+        private int passStart = 0;
+
+        /**
+         * The sample after the last sample of the current progressive pass.
+         */
+        private int passEnd;
+
+        /**
+         * The step between the grid cells of consecutive samples of a progressive rendering,
+         * so that every pass spreads its samples over the pixel.
+         */
+        private int sampleStride;
+
+        /**
+         * The current pass of an edge anti-aliasing rendering - 1 for the first ray of every pixel,
+         * 2 for the super-sampling of the edges, 0 out of such a rendering.
+         */
+        private int edgePass = 0;
+
+        /**
+         * The surfaces that the first rays of the pixels hit, null for the background, row after row.
+         * The faces of a mesh are a single surface, whose edges are found by the angles of their normals.
+         */
+        private Geometry[] hitGeometries;
+
+        /**
+         * The normals at the points that the first rays of the pixels hit - 3 numbers per pixel, row after row.
+         */
+        private float[] hitNormals;
+
+        /**
+         * The flags of the pixels on the edges of the image, row after row.
+         */
+        private boolean[] edges;
+
+        /**
+         * The amount of pixels that were found on edges, 0 if it is not an edge anti-aliasing rendering.
+         */
+        private int edgePixels = 0;
+
+        /**
+         * Constructs a rendering of an image by the camera's current settings
+         *
+         * @param nX    the number of pixels along the x-axis
+         * @param nY    the number of pixels along the y-axis
+         * @param token the token that stops the rendering, or null to render the whole image
+         */
+        private Rendering(int nX, int nY, RenderToken token) {
+            resolutionX = nX;
+            resolutionY = nY;
+            rayGenerator = new RayGenerator(p0, centerPoint, vRight, vUp, width, height, nX, nY);
+            renderToken = token;
+            statsCollector = statistics ? new RenderStats.Collector() : null;
+        }
 
-        // without adaptive superSampling
-        if (!adaptive) {
+        /**
+         * Renders the image by the camera's mode - into the stream writer, progressively,
+         * with edge anti-aliasing or in a single pass - and resolves it into the image writer
+         *
+         * @param amountOfRays the number of rays to be cast through a pixel
+         * @return the rendered part of the image
+         */
+        private double render(int amountOfRays) {
+            int nX = resolutionX;
+            int nY = resolutionY;
+            if (streamWriter != null)
+                return renderStream(nX, nY, amountOfRays);
+
+            frameBuffer = new FrameBuffer(nX, nY);
+            double completed;
+            if (progressive)
+                completed = renderProgressive(nX, nY);
+            else if (edgeAntiAliasing && superSampling > 0 && !adaptive && varianceThreshold == 0)
+                completed = renderEdges(nX, nY);
+            else
+                completed = (double) renderPass(nX, nY, 0, nY, amountOfRays) / ((long) nX * nY);
+            frameBuffer.resolve(imageWriter);
+            return completed;
+        }
 
-            // without antiAliasing
-            if (superSampling == 0) {
-                color = castRay(nX, nY, x, y);
+        /**
+         * Casts a ray through a pixel at position (j, i) on the view plane,
+         * and returns the color of the closest intersected geometry, if any.
+         *
+         * @param j the horizontal index of the pixel which was being cast
+         * @param i the vertical index of the pixel which was being cast
+         * @return the color of the closest intersected geometry, if any
+         */
+        private Color castRay(int j, int i) {
+            return rayTracer.traceRay(rayGenerator.ray(j, i));
+        }
+
+        /**
+         * Casts multiple rays through a pixel with anti-aliasing and calculates the color at that pixel.
+         *
+         * @param j the pixel's x-coordinate
+         * @param i the pixel's y-coordinate
+         * @return the color at the pixel
+         */
+        private Color castRayBeam(int j, int i) {
+            // Generate the rays of the beam, and calculate the average color of the rays
+            int count = superSampling * superSampling;
+            double r = 0, g = 0, b = 0;
+            for (int sample = 0; sample < count; ++sample) {
+                Color rayColor = beamSample(rayTracer.traceRay(beamRay(j, i, sample)));
+                r += rayColor.getRed();
+                g += rayColor.getGreen();
+                b += rayColor.getBlue();
             }
-            // with antiAliasing
+            return new Color(r / count, g / count, b / count);
+        }
+
+        /**
+         * Constructs a ray of the beam of a pixel - the ray through a cell of a superSampling x superSampling grid
+         *
+         * @param j      the pixel's x-coordinate
+         * @param i      the pixel's y-coordinate
+         * @param sample the index of the cell, column after column of the grid
+         * @return the ray through the cell
+         */
+        private Ray beamRay(int j, int i, int sample) {
+            int superSamp = superSampling;
+            int nX = resolutionX;
+            int nY = resolutionY;
+
+            // the beam starts (superSamp / 2) steps right of and above the point of the pixel's center,
+            // which is found with the middle of the view plane rounded down to whole pixels
+            double u = j + (nX - 1) / 2d - (nX - 1) / 2 + (double) (superSamp / 2) / superSamp;
+            double v = i + (nY - 1) / 2d - (nY - 1) / 2 - (double) (superSamp / 2) / superSamp;
+            return rayGenerator.ray(u + (double) (sample / superSamp) / superSamp,
+                    v - (double) (sample % superSamp) / superSamp);
+        }
+
+        /**
+         * Casts the rays of the camera's sample pattern through a pixel and calculates the average color.
+         *
+         * @param j the pixel's x-coordinate
+         * @param i the pixel's y-coordinate
+         * @return the color at the pixel
+         */
+        private Color castRayPattern(int j, int i) {
+            int count = superSampling * superSampling;
+            double[] offsets = new double[2 * count];
+            samplePattern.fill(count, (long) j << 32 | i, offsets);
+
+            double r = 0, g = 0, b = 0;
+            for (int sample = 0; sample < count; ++sample) {
+                Color color = rayTracer.traceRay(
+                        rayGenerator.ray(j + offsets[2 * sample] - 0.5, i + offsets[2 * sample + 1] - 0.5));
+                r += color.getRed();
+                g += color.getGreen();
+                b += color.getBlue();
+            }
+            return new Color(r / count, g / count, b / count);
+        }
+
+        /**
+         * Renders the image band after band of rows into the stream writer.
+         * If the rendering is stopped, the stream is finished with black rows.
+         *
+         * @param nX           the number of pixels along the x-axis
+         * @param nY           the number of pixels along the y-axis
+         * @param amountOfRays the number of rays to be cast through a pixel
+         * @return the rendered part of the image
+         */
+        private double renderStream(int nX, int nY, int amountOfRays) {
+            long pixels = 0;
+            int bandRows = BAND_TILES * tileSize;
+            try {
+                for (frameRow = 0; frameRow < nY && !isStopped(); frameRow += bandRows) {
+                    int endRow = Math.min(frameRow + bandRows, nY);
+                    frameBuffer = new FrameBuffer(nX, endRow - frameRow);
+                    pixels += renderPass(nX, nY, frameRow, endRow, amountOfRays);
+                    streamWriter.writeRows(frameBuffer.resolveRows(0, endRow - frameRow));
+                }
+            } finally {
+                streamWriter.close();
+                frameBuffer = null;
+                frameRow = 0;
+            }
+            return (double) pixels / ((long) nX * nY);
+        }
+
+        /**
+         * Checks whether the rendering has to stop, because the thread was interrupted or the token was cancelled
+         *
+         * @return true if the rendering has to stop
+         */
+        private boolean isStopped() {
+            return Thread.currentThread().isInterrupted() || renderToken != null && renderToken.isCancelled();
+        }
+
+        /**
+         * Renders all the pixels of a band of rows of the image once, by the multi-threading mode of the camera
+         *
+         * @param nX           the number of pixels along the x-axis
+         * @param nY           the number of pixels along the y-axis
+         * @param firstRow     the first row of the band
+         * @param endRow       the row after the last row of the band
+         * @param amountOfRays the number of rays to be cast through a pixel
+         * @return the amount of pixels that were rendered before the rendering was stopped
+         */
+        private long renderPass(int nX, int nY, int firstRow, int endRow, int amountOfRays) {
+            tileManager = new TileManager(nX, nY, firstRow, endRow, tileSize, printInterval);
+
+            if (forkJoinPool != null)
+                forkJoinPool.invoke(new RenderTask(new TileManager.Tile(0, firstRow, nX, endRow), amountOfRays));
+            else if (executor != null)
+                renderByExecutor(amountOfRays);
+            else if (threadsCount == 0)
+                renderTiles(amountOfRays);
             else {
-                color = castRayBeam(nX, nY, x, y);
+                var threads = new LinkedList<Thread>(); // list of threads
+                for (int t = 0; t < threadsCount; ++t) // add appropriate number of threads
+                    threads.add(new Thread(() -> renderTiles(amountOfRays)));
+
+                // start all the threads
+                for (var thread : threads)
+                    thread.start();
+                // wait until all the threads have finished
+                boolean interrupted = false;
+                for (var thread : threads) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        // stop all the threads, and keep waiting for them to finish their tiles
+                        interrupted = true;
+                        for (var other : threads) other.interrupt();
+                        try {
+                            thread.join();
+                        } catch (InterruptedException ignore) {
+                        }
+                    }
+                }
+                if (interrupted)
+                    Thread.currentThread().interrupt();
             }
+            return tileManager.getDonePixels();
         }
 
-        // with adaptive superSampling
-        else {
-            color = adaptiveSuperSampling(nX, nY, x, y, amountOfRays);
+        /**
+         * Renders the image in passes, where every pass doubles the amount of samples of every pixel
+         *
+         * @param nX the number of pixels along the x-axis
+         * @param nY the number of pixels along the y-axis
+         * @return the rendered part of all the samples of all the passes
+         */
+        private double renderProgressive(int nX, int nY) {
+            // the rays of the beam, or a single ray through the center of every pixel without super-sampling
+            int totalSamples = Math.max(1, superSampling * superSampling);
+
+            // a stride near the golden ratio of the grid, co-prime with its size, visits every cell once
+            sampleStride = Math.max(1, (int) Math.round(totalSamples * 0.618));
+            while (totalSamples > 1 && gcd(sampleStride, totalSamples) != 1)
+                ++sampleStride;
+
+            double samples = 0;
+            for (passStart = 0, passEnd = 1; passStart < totalSamples && !isStopped();
+                 passStart = passEnd, passEnd = Math.min(2 * passEnd, totalSamples)) {
+                samples += (double) renderPass(nX, nY, 0, nY, 1) * (passEnd - passStart);
+                if (snapshots) {
+                    frameBuffer.resolve(imageWriter);
+                    imageWriter.writeToImage();
+                }
+            }
+            return samples / ((double) nX * nY * totalSamples);
         }
-        imageWriter.writePixel(x, y, color);
-        pixelManager.pixelDone();
-    }
 
+        /**
+         * Renders the image in two passes - one ray through every pixel, and super-sampling of the pixels on edges
+         *
+         * @param nX the number of pixels along the x-axis
+         * @param nY the number of pixels along the y-axis
+         * @return the rendered part of the pixels of both passes
+         */
+        private double renderEdges(int nX, int nY) {
+            int pixels = nX * nY;
+            hitGeometries = new Geometry[pixels];
+            hitNormals = new float[3 * pixels];
+            edges = new boolean[pixels];
+            try {
+                edgePass = 1;
+                long done = renderPass(nX, nY, 0, nY, 1);
+                if (isStopped())
+                    return done / (2d * pixels);
+                edgePixels = detectEdges(nX, nY);
+                edgePass = 2;
+                done += renderPass(nX, nY, 0, nY, superSampling);
+                return done / (2d * pixels);
+            } finally {
+                edgePass = 0;
+                hitGeometries = null;
+                hitNormals = null;
+                edges = null;
+            }
+        }
 
-    /**
-     * Performs adaptive super-sampling by casting multiple rays through a pixel
-     * with varying sub-pixel offsets and calculates the color at that pixel.
-     *
-     * @param nX        the number of pixels along the x-axis
-     * @param nY        the number of pixels along the y-axis
-     * @param j         the pixel's x-coordinate
-     * @param i         the pixel's y-coordinate
-     * @param numOfRays the number of rays to be cast through the pixel
-     * @return the color at the pixel
-     * @throws MissingResourceException if the imageWriter or viewPlane dimensions were not set
-     */
-    private Color adaptiveSuperSampling(int nX, int nY, int j, int i, int numOfRays) {
-
-        Vector Vright = vRight;
-        Vector Vup = vUp;
-        Point cameraLocation = this.p0;
-        int numOfRaysInRowCol = (int) Math.floor(Math.sqrt(numOfRays));
-
-        // If only one ray is used, directly trace the ray through the pixel
-        if (numOfRaysInRowCol == 1) {
-            return castRay(nX, nY, j, i);
+        /**
+         * Renders a pixel in the current pass of an edge anti-aliasing rendering
+         *
+         * @param x the x-coordinate of the pixel
+         * @param y the y-coordinate of the pixel
+         */
+        private void renderEdgePixel(int x, int y) {
+            int nX = resolutionX;
+            int nY = resolutionY;
+            int index = y * nX + x;
+            if (edgePass == 1) {
+                GeoPoint[] hit = new GeoPoint[1];
+                frameBuffer.setPixel(x, y, rayTracer.traceRay(rayGenerator.ray(x, y), hit));
+                if (hit[0] != null) {
+                    hitGeometries[index] = hit[0].geometry.getSurface();
+                    Vector normal = hit[0].geometry.getNormal(hit[0].point);
+                    hitNormals[3 * index] = (float) normal.getX();
+                    hitNormals[3 * index + 1] = (float) normal.getY();
+                    hitNormals[3 * index + 2] = (float) normal.getZ();
+                }
+            } else if (edges[index])
+                frameBuffer.setPixel(x, y,
+                        samplePattern == null ? castRayBeam(x, y) : castRayPattern(x, y));
         }
 
-        Point pIJ = getCenterOfPixel(nX, nY, j, i);
+        /**
+         * Flags the pixels on the edges of the image after the first pass of an edge anti-aliasing rendering.
+         * Both pixels of every discontinuous pair of adjacent pixels are flagged.
+         *
+         * @param nX the number of pixels along the x-axis
+         * @param nY the number of pixels along the y-axis
+         * @return the amount of flagged pixels
+         */
+        private int detectEdges(int nX, int nY) {
+            for (int y = 0; y < nY; ++y)
+                for (int x = 0; x < nX; ++x) {
+                    int index = y * nX + x;
+                    if (x + 1 < nX && discontinuous(x, y, x + 1, y))
+                        edges[index] = edges[index + 1] = true;
+                    if (y + 1 < nY && discontinuous(x, y, x, y + 1))
+                        edges[index] = edges[index + nX] = true;
+                }
+            int count = 0;
+            for (boolean edge : edges)
+                if (edge) ++count;
+            return count;
+        }
 
-        // Calculate the ratios of pixel width and height
-        double rY = alignZero(height / nY);
-        double rX = alignZero(width / nX);
+        /**
+         * Checks whether two adjacent pixels are on different sides of an edge - they hit different geometries,
+         * the angle between their normals is too big, or their colors differ too much
+         *
+         * @param x1 the x-coordinate of the first pixel
+         * @param y1 the y-coordinate of the first pixel
+         * @param x2 the x-coordinate of the second pixel
+         * @param y2 the y-coordinate of the second pixel
+         * @return true if there is an edge between the pixels
+         */
+        private boolean discontinuous(int x1, int y1, int x2, int y2) {
+            int a = y1 * resolutionX + x1, b = y2 * resolutionX + x2;
+            Geometry geometry = hitGeometries[a];
+            if (geometry != hitGeometries[b])
+                return true;
+            if (geometry != null && hitNormals[3 * a] * hitNormals[3 * b] + hitNormals[3 * a + 1] * hitNormals[3 * b + 1]
+                    + hitNormals[3 * a + 2] * hitNormals[3 * b + 2] < EDGE_COS)
+                return true;
+            Color c1 = frameBuffer.getPixel(x1, y1), c2 = frameBuffer.getPixel(x2, y2);
+            return Math.abs(c1.getRed() - c2.getRed()) > EDGE_CONTRAST
+                    || Math.abs(c1.getGreen() - c2.getGreen()) > EDGE_CONTRAST
+                    || Math.abs(c1.getBlue() - c2.getBlue()) > EDGE_CONTRAST;
+        }
 
-        double PRy = rY / numOfRaysInRowCol;
-        double PRx = rX / numOfRaysInRowCol;
+        /**
+         * Renders the samples of the current progressive pass through a pixel,
+         * and adds them to the samples of the pixel in the frame buffer
+         *
+         * @param x the x-coordinate of the pixel
+         * @param y the y-coordinate of the pixel
+         */
+        private void renderProgressivePixel(int x, int y) {
+            if (superSampling == 0) {
+                frameBuffer.addSample(x, y - frameRow, castRay(x, y));
+                return;
+            }
+            // the samples start at the middle cell of the grid, and the stride visits every cell once
+            int gridSize = superSampling * superSampling;
+            int middle = superSampling / 2 * (superSampling + 1);
+            for (int sample = passStart; sample < passEnd; ++sample) {
+                int cell = (int) ((middle + (long) sample * sampleStride) % gridSize);
+                frameBuffer.addSample(x, y - frameRow, beamSample(rayTracer.traceRay(beamRay(x, y, cell))));
+            }
+        }
 
-        // Perform recursive adaptive super sampling
-        return rayTracer.adaptiveSuperSamplingRec(pIJ, rX, rY, PRx, PRy, cameraLocation, Vright, Vup, null);
-    }
+        /**
+         * Renders tiles of the image until the tile manager has no more tiles
+         *
+         * @param amountOfRays the number of rays to be cast through a pixel
+         */
+        private void renderTiles(int amountOfRays) {
+            TileManager.Tile tile;
+            // a stopped rendering stops between the tiles
+            while (!isStopped() && (tile = tileManager.nextTile()) != null)
+                renderTile(tile, amountOfRays);
+        }
 
+        /**
+         * Renders the image by tasks in the executor, and waits until they finish.
+         * The first failure or an interrupt cancels all the tasks, and the failure is thrown
+         * only after every task has finished, so no task writes into the image after the rendering.
+         *
+         * @param amountOfRays the number of rays to be cast through a pixel
+         */
+        private void renderByExecutor(int amountOfRays) {
+            CompletionService<Void> tasks = new ExecutorCompletionService<>(executor);
+            List<Future<Void>> futures = new LinkedList<>();
+            // state of every task - 0 before it starts, 1 after it started, 2 if it was cancelled before it started
+            AtomicIntegerArray states = new AtomicIntegerArray(parallelism);
+            CountDownLatch finished = new CountDownLatch(parallelism);
+            try {
+                for (int t = 0; t < parallelism; ++t) {
+                    int task = t;
+                    futures.add(tasks.submit(() -> {
+                        if (!states.compareAndSet(task, 0, 1))
+                            return;
+                        try {
+                            renderTiles(amountOfRays);
+                        } finally {
+                            finished.countDown();
+                        }
+                    }, null));
+                }
+                // the tasks are waited for in the order they finish, so a failure is noticed at once
+                for (int t = 0; t < parallelism; ++t)
+                    tasks.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                throw new IllegalStateException("Rendering task failed", e.getCause());
+            } finally {
+                int task = 0;
+                for (Future<Void> future : futures) {
+                    // a task that didn't start will never start, a started one stops after its current tile
+                    if (states.compareAndSet(task++, 0, 2))
+                        finished.countDown();
+                    future.cancel(true);
+                }
+                // a task that failed to be submitted will never run
+                for (; task < parallelism; ++task)
+                    finished.countDown();
+                awaitUninterruptibly(finished);
+            }
+        }
 
-    /**
-     * Calculates the center point of a pixel in the view plane.
-     *
-     * @param nX the number of pixels along the x-axis
-     * @param nY the number of pixels along the y-axis
-     * @param j  the pixel's x-coordinate
-     * @param i  the pixel's y-coordinate
-     * @return the center point of the pixel
-     */
-    private Point getCenterOfPixel(int nX, int nY, int j, int i) {
+        /**
+         * Renders a tile of the image
+         *
+         * @param tile         the tile to render
+         * @param amountOfRays the number of rays to be cast through a pixel
+         */
+        private void renderTile(TileManager.Tile tile, int amountOfRays) {
+            // the thread counts into the rendering's counters only while it renders the rendering's tile
+            RenderStats.Collector collector = statsCollector;
+            if (collector == null) {
+                renderTileCounted(tile, amountOfRays, null);
+                return;
+            }
+            collector.bind();
+            try {
+                renderTileCounted(tile, amountOfRays, RenderStats.Counters.local());
+            } finally {
+                RenderStats.Collector.unbind();
+            }
+        }
 
-        // calculate the ratio of the pixel by the height and by the width of the view plane
+        /**
+         * Renders a tile of the image, and counts its time if the rendering is counted
+         *
+         * @param tile         the tile to render
+         * @param amountOfRays the number of rays to be cast through a pixel
+         * @param counters     the counters of the thread in the rendering, null if the rendering is not counted
+         */
+        private void renderTileCounted(TileManager.Tile tile, int amountOfRays, RenderStats.Counters counters) {
+            long start = counters == null ? 0 : System.nanoTime();
+
+            // the corners that the adaptive super-sampling traced are shared by the pixels of the tile
+            boolean useSampler = edgePass == 0 && !(progressive && streamWriter == null);
+            VarianceSampler varianceSampler = useSampler && varianceThreshold > 0 ? createVarianceSampler() : null;
+            AdaptiveSampler sampler = useSampler && adaptive && varianceSampler == null
+                    ? createAdaptiveSampler(amountOfRays) : null;
+            // a single ray through the center of every pixel - the directions of the tile are found at once
+            if (useSampler && varianceSampler == null && sampler == null && (adaptive || superSampling == 0))
+                renderCenterTile(tile);
+            else {
+                PcgRandom random = PcgRandom.current();
+                for (int i = tile.y0(); i < tile.y1(); ++i)
+                    for (int j = tile.x0(); j < tile.x1(); ++j) {
+                        seedPixel(random, j, i);
+                        if (edgePass != 0)
+                            renderEdgePixel(j, i);
+                        else if (varianceSampler != null)
+                            frameBuffer.setPixel(j, i - frameRow, varianceSampler.samplePixel(j, i),
+                                    varianceSampler.getSamples());
+                        else
+                            renderPixel(j, i, sampler);
+                    }
+            }
+            if (counters != null)
+                counters.countTile(System.nanoTime() - start);
+            tileManager.tileDone(tile);
+        }
 
-        // the ratio Ry = h/Ny, the height of the pixel
-        double rY = alignZero(height / nY);
-        // the ratio Rx = w/Nx, the width of the pixel
-        double rX = alignZero(width / nX);
+        /**
+         * Renders a tile of the image by a single ray through the center of every pixel
+         *
+         * @param tile the tile to render
+         */
+        private void renderCenterTile(TileManager.Tile tile) {
+            int pixels = (tile.x1() - tile.x0()) * (tile.y1() - tile.y0());
+            double[] xs = new double[pixels], ys = new double[pixels], zs = new double[pixels];
+            rayGenerator.fillTile(tile, xs, ys, zs);
+            PcgRandom random = PcgRandom.current();
+            int index = 0;
+            for (int i = tile.y0(); i < tile.y1(); ++i)
+                for (int j = tile.x0(); j < tile.x1(); ++j, ++index) {
+                    seedPixel(random, j, i);
+                    frameBuffer.setPixel(j, i - frameRow,
+                            rayTracer.traceRay(new Ray(p0, new Vector(xs[index], ys[index], zs[index]))));
+                }
+        }
 
+        /**
+         * Seeds the random generator of the rendering thread for a pixel, by the seed of the camera,
+         * the pixel's index and the progressive pass, so the random numbers of the pixel are the same in every rendering
+         *
+         * @param random the random generator of the rendering thread
+         * @param x      the x-coordinate of the pixel
+         * @param y      the y-coordinate of the pixel
+         */
+        private void seedPixel(PcgRandom random, int x, int y) {
+            // every progressive pass has other samples, so it has other random numbers
+            random.reseed(randomSeed + passStart * 0x9E3779B97F4A7C15L, (long) y * resolutionX + x);
+        }
 
-        // Calculate the x-coordinate of the center point of the pixel
-        double xJ = alignZero((j - ((nX - 1d) / 2d)) * rX);
+        /**
+         * Fork-join task of rendering a region of the image. A region that is bigger than a tile is split
+         * in two along its longer side, and the halves are left for the workers of the pool to steal.
+         */
+        private class RenderTask extends RecursiveAction {
+
+            /**
+             * serialization version of the task
+             */
+            @Serial
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * the region to render
+             */
+            private final TileManager.Tile region;
+
+            /**
+             * the number of rays to be cast through a pixel
+             */
+            private final int amountOfRays;
+
+            /**
+             * constructor to initialize the task with its region
+             *
+             * @param region       the region to render
+             * @param amountOfRays the number of rays to be cast through a pixel
+             */
+            private RenderTask(TileManager.Tile region, int amountOfRays) {
+                this.region = region;
+                this.amountOfRays = amountOfRays;
+            }
 
-        // Calculate the y-coordinate of the center point of the pixel
-        double yI = alignZero(-(i - ((nY - 1d) / 2d)) * rY);
+            @Override
+            protected void compute() {
+                if (isStopped())
+                    return;
+                int width = region.x1() - region.x0();
+                int height = region.y1() - region.y0();
+                if (width <= tileSize && height <= tileSize) {
+                    renderTile(region, amountOfRays);
+                    return;
+                }
 
-        Point pIJ = centerPoint;
+                TileManager.Tile first, second;
+                if (width >= height) {
+                    int middle = region.x0() + width / 2;
+                    first = new TileManager.Tile(region.x0(), region.y0(), middle, region.y1());
+                    second = new TileManager.Tile(middle, region.y0(), region.x1(), region.y1());
+                } else {
+                    int middle = region.y0() + height / 2;
+                    first = new TileManager.Tile(region.x0(), region.y0(), region.x1(), middle);
+                    second = new TileManager.Tile(region.x0(), middle, region.x1(), region.y1());
+                }
+                invokeAll(new RenderTask(first, amountOfRays), new RenderTask(second, amountOfRays));
+            }
+        }
+
+        /**
+         * Renders a single pixel of the image.
+         *
+         * @param x       the x-coordinate of the pixel
+         * @param y       the y-coordinate of the pixel
+         * @param sampler the adaptive sampler of the pixel's tile, null without adaptive super-sampling
+         *                or with a single ray per pixel
+         */
+        private void renderPixel(int x, int y, AdaptiveSampler sampler) {
+            if (progressive && streamWriter == null) {
+                renderProgressivePixel(x, y);
+                return;
+            }
+
+            Color color;
+
+            // without adaptive superSampling
+            if (!adaptive) {
+
+                // without antiAliasing
+                if (superSampling == 0) {
+                    color = castRay(x, y);
+                }
+                // with antiAliasing
+                else {
+                    color = samplePattern == null ? castRayBeam(x, y) : castRayPattern(x, y);
+                }
+            }
 
-        // Move the center point of the pixel horizontally
-        if (!isZero(xJ)) {
-            pIJ = pIJ.add(vRight.scale(xJ));
+            // with adaptive superSampling
+            else {
+                color = sampler == null ? castRay(x, y) : sampler.samplePixel(x, y);
+            }
+            frameBuffer.setPixel(x, y - frameRow, color);
         }
-        // Move the center point of the pixel vertically
-        if (!isZero(yI)) {
-            pIJ = pIJ.add(vUp.scale(yI));
+
+        /**
+         * Creates an adaptive sampler over the view plane, whose pixels are divided into at least
+         * sqrt(numOfRays) x sqrt(numOfRays) squares at the deepest level
+         *
+         * @param numOfRays the number of rays to be cast through a pixel
+         * @return the sampler, or null if only one ray is cast through a pixel
+         */
+        private AdaptiveSampler createAdaptiveSampler(int numOfRays) {
+            int numOfRaysInRowCol = (int) Math.floor(Math.sqrt(numOfRays));
+
+            // If only one ray is used, the ray is traced directly through the pixel
+            if (numOfRaysInRowCol <= 1)
+                return null;
+
+            // the smallest depth that divides the pixel into enough squares
+            int maxDepth = 32 - Integer.numberOfLeadingZeros(numOfRaysInRowCol - 1);
+
+            Point topLeft = centerPoint.add(vRight.scale(-width / 2)).add(vUp.scale(height / 2));
+            return new AdaptiveSampler(rayTracer, p0, topLeft, vRight, vUp,
+                    width / resolutionX, height / resolutionY, maxDepth);
         }
 
-        return pIJ;
+        /**
+         * Creates a variance driven sampler over the view plane
+         *
+         * @return the sampler
+         */
+        private VarianceSampler createVarianceSampler() {
+            return new VarianceSampler(rayTracer, rayGenerator,
+                    samplePattern == null ? SamplePatterns.SOBOL : samplePattern, varianceThreshold, maxSamples);
+        }
     }
 
+
     /**
      * Prints a grid of a given interval and color on the image writer.
      *
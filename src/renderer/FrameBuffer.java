@@ -0,0 +1,237 @@
+package renderer;
+
+import primitives.Color;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * FrameBuffer class keeps the colors of the pixels of a rendered image as double numbers,
+ * without the upper limit of 255, together with the amount of samples that were summed into every pixel.
+ * The colors are resolved into an {@link ImageWriter} in one bulk copy, so the rendering threads
+ * don't create AWT colors for every pixel, and samples can be accumulated over several passes.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public class FrameBuffer {
+
+    /**
+     * amount of pixels by width
+     */
+    private final int nX;
+
+    /**
+     * amount of pixels by height
+     */
+    private final int nY;
+
+    /**
+     * sums of the red, green and blue components of the samples of every pixel, row after row
+     */
+    private final double[] rgb;
+
+    /**
+     * amount of samples summed into every pixel, row after row
+     */
+    private final int[] samples;
+
+    /**
+     * constructor to initialize a black frame buffer
+     *
+     * @param nX amount of pixels by width
+     * @param nY amount of pixels by height
+     */
+    public FrameBuffer(int nX, int nY) {
+        if (nX <= 0 || nY <= 0)
+            throw new IllegalArgumentException("Frame buffer size must be positive");
+        this.nX = nX;
+        this.nY = nY;
+        rgb = new double[3 * nX * nY];
+        samples = new int[nX * nY];
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of pixels by width
+     */
+    public int getNx() {
+        return nX;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of pixels by height
+     */
+    public int getNy() {
+        return nY;
+    }
+
+    /**
+     * Sets the color of a pixel, replacing all of its samples
+     *
+     * @param x     X axis index of the pixel
+     * @param y     Y axis index of the pixel
+     * @param color the color of the pixel
+     */
+    public void setPixel(int x, int y, Color color) {
+        int index = y * nX + x;
+        rgb[3 * index] = color.getRed();
+        rgb[3 * index + 1] = color.getGreen();
+        rgb[3 * index + 2] = color.getBlue();
+        samples[index] = 1;
+    }
+
+    /**
+     * Sets the color of a pixel as the mean of a number of samples, replacing all of its samples
+     *
+     * @param x       X axis index of the pixel
+     * @param y       Y axis index of the pixel
+     * @param color   the mean color of the samples
+     * @param samples the amount of samples
+     */
+    public void setPixel(int x, int y, Color color, int samples) {
+        if (samples <= 0)
+            throw new IllegalArgumentException("Amount of samples must be positive");
+        int index = y * nX + x;
+        rgb[3 * index] = color.getRed() * samples;
+        rgb[3 * index + 1] = color.getGreen() * samples;
+        rgb[3 * index + 2] = color.getBlue() * samples;
+        this.samples[index] = samples;
+    }
+
+    /**
+     * Adds a sample to the colors of a pixel
+     *
+     * @param x     X axis index of the pixel
+     * @param y     Y axis index of the pixel
+     * @param color the color of the sample
+     */
+    public void addSample(int x, int y, Color color) {
+        int index = y * nX + x;
+        rgb[3 * index] += color.getRed();
+        rgb[3 * index + 1] += color.getGreen();
+        rgb[3 * index + 2] += color.getBlue();
+        ++samples[index];
+    }
+
+    /**
+     * Returns the color of a pixel - the average of its samples
+     *
+     * @param x X axis index of the pixel
+     * @param y Y axis index of the pixel
+     * @return the color of the pixel, black if it has no samples
+     */
+    public Color getPixel(int x, int y) {
+        int index = y * nX + x;
+        int count = samples[index];
+        if (count == 0)
+            return Color.BLACK;
+        return new Color(rgb[3 * index] / count, rgb[3 * index + 1] / count, rgb[3 * index + 2] / count);
+    }
+
+    /**
+     * getter
+     *
+     * @param x X axis index of the pixel
+     * @param y Y axis index of the pixel
+     * @return the amount of samples of the pixel
+     */
+    public int getSamples(int x, int y) {
+        return samples[y * nX + x];
+    }
+
+    /**
+     * Resolves the average colors of the pixels into 8-bit colors of an image writer of the same size.
+     * Like {@link Color#getColor()}, the components are truncated and clamped to 255.
+     *
+     * @param imageWriter the image writer
+     */
+    public void resolve(ImageWriter imageWriter) {
+        if (imageWriter.getNx() != nX || imageWriter.getNy() != nY)
+            throw new IllegalArgumentException("Image writer size differs from the frame buffer size");
+        imageWriter.writeRows(0, resolveRows(0, nY));
+    }
+
+    /**
+     * Resolves the amounts of samples of the pixels into a gray map in an image writer of the same size -
+     * white for the pixel with the most samples and black for pixels without samples.
+     *
+     * @param imageWriter the image writer
+     */
+    public void resolveSampleMap(ImageWriter imageWriter) {
+        if (imageWriter.getNx() != nX || imageWriter.getNy() != nY)
+            throw new IllegalArgumentException("Image writer size differs from the frame buffer size");
+        int max = 1;
+        for (int count : samples)
+            max = Math.max(max, count);
+        int[] packed = new int[samples.length];
+        for (int i = 0; i < packed.length; ++i)
+            packed[i] = (int) (255L * samples[i] / max) * 0x010101;
+        imageWriter.writeRows(0, packed);
+    }
+
+    /**
+     * Writes the average colors of the pixels into a float pfm file in the images directory,
+     * without clamping, for tools that read HDR images. The colors are divided by 255,
+     * so that the printed white is 1.
+     *
+     * @param imageName the name of the pfm file
+     * @throws IllegalStateException if an I/O error occurs
+     */
+    public void writeToPfm(String imageName) {
+        try (OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(ImageWriter.FOLDER_PATH + '/' + imageName + ".pfm"))) {
+            // negative scale marks little-endian floats
+            out.write(("PF\n" + nX + " " + nY + "\n-1.0\n").getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer row = ByteBuffer.allocate(12 * nX).order(ByteOrder.LITTLE_ENDIAN);
+            // the rows of a pfm file go from the bottom of the image to its top
+            for (int y = nY - 1; y >= 0; --y) {
+                row.clear();
+                for (int x = 0, index = y * nX; x < nX; ++x, ++index) {
+                    int count = Math.max(samples[index], 1);
+                    row.putFloat((float) (rgb[3 * index] / count / 255));
+                    row.putFloat((float) (rgb[3 * index + 1] / count / 255));
+                    row.putFloat((float) (rgb[3 * index + 2] / count / 255));
+                }
+                out.write(row.array());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - may be missing directory " + ImageWriter.FOLDER_PATH, e);
+        }
+    }
+
+    /**
+     * Resolves the average colors of a band of rows into packed 8-bit colors (0xRRGGBB)
+     *
+     * @param firstRow Y axis index of the first row
+     * @param endRow   Y axis index after the last row
+     * @return the packed colors of the rows, row after row
+     */
+    int[] resolveRows(int firstRow, int endRow) {
+        int[] packed = new int[(endRow - firstRow) * nX];
+        for (int i = 0, index = firstRow * nX; i < packed.length; ++i, ++index) {
+            int count = samples[index];
+            if (count == 0)
+                continue;
+            packed[i] = channel(rgb[3 * index] / count) << 16
+                    | channel(rgb[3 * index + 1] / count) << 8
+                    | channel(rgb[3 * index + 2] / count);
+        }
+        return packed;
+    }
+
+    /**
+     * Converts a color component to 8 bits
+     *
+     * @param component the color component
+     * @return the component truncated and clamped to 255
+     */
+    private static int channel(double component) {
+        int value = (int) component;
+        return value > 255 ? 255 : value;
+    }
+}
@@ -4,8 +4,9 @@ import primitives.Color;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,7 +19,7 @@ import java.util.logging.Logger;
  * @author Dan
  */
 public class ImageWriter {
-    private static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
+    static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
     private final int nX;
     private final int nY;
     private final BufferedImage image;
@@ -80,6 +81,54 @@ public class ImageWriter {
         }
     }
 
+    /**
+     * Function writeToImageParallel produces a png file of the image like {@link #writeToImage()},
+     * compressing bands of rows in parallel. The file is a bit bigger, and much faster to produce.
+     */
+    public void writeToImageParallel() {
+        try (OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(FOLDER_PATH + '/' + imageName + ".png"))) {
+            ParallelPngEncoder.encode(pixels(), nX, nY, out);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "I/O error", e);
+            throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
+        }
+    }
+
+    /**
+     * Function writeToPpm produces an uncompressed binary ppm (P6) file of the image
+     * in the images directory of the project ({@link #FOLDER_PATH}), for tools that read raw images
+     */
+    public void writeToPpm() {
+        try (OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(FOLDER_PATH + '/' + imageName + ".ppm"))) {
+            out.write(("P6\n" + nX + " " + nY + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+            int[] rgb = pixels();
+            byte[] row = new byte[3 * nX];
+            for (int y = 0; y < nY; ++y) {
+                for (int x = 0, i = y * nX, b = 0; x < nX; ++x, ++i) {
+                    int color = rgb[i];
+                    row[b++] = (byte) (color >> 16);
+                    row[b++] = (byte) (color >> 8);
+                    row[b++] = (byte) color;
+                }
+                out.write(row);
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "I/O error", e);
+            throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
+        }
+    }
+
+    /**
+     * Returns the pixel color matrix itself, without copying
+     *
+     * @return the packed colors of the pixels (0xRRGGBB), row after row
+     */
+    private int[] pixels() {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
     /**
      * The function writePixel writes a color of a specific pixel into pixel color
      * matrix
@@ -92,4 +141,17 @@ public class ImageWriter {
         image.setRGB(xIndex, yIndex, color.getColor().getRGB());
     }
 
+    /**
+     * The function writeRows copies whole rows of packed 8-bit RGB values (0xRRGGBB)
+     * into the pixel color matrix at once
+     *
+     * @param firstRow Y axis index of the first row
+     * @param rgb      the packed colors of the rows, row after row
+     */
+    public void writeRows(int firstRow, int[] rgb) {
+        if (rgb.length % nX != 0)
+            throw new IllegalArgumentException("The colors must fill whole rows");
+        image.getRaster().setDataElements(0, firstRow, nX, rgb.length / nX, rgb);
+    }
+
 }
@@ -0,0 +1,174 @@
+package renderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+/**
+ * ParallelPngEncoder is a helper class that encodes 8-bit RGB pixels into a png file,
+ * compressing bands of rows in parallel.<br/>
+ * Every band is deflated independently and ends with a sync flush, so the compressed bands
+ * are concatenated into a single zlib stream. The rows are not filtered, which costs some
+ * compression for the speed of intermediate images.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+final class ParallelPngEncoder {
+
+    /**
+     * Amount of uncompressed bytes in a band of rows (about)
+     */
+    private static final int BAND_BYTES = 1 << 18;
+
+    /**
+     * The maximal size of the data of an IDAT chunk
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * zlib header of a deflate stream with a 32K window and the default compression level
+     */
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9C};
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ParallelPngEncoder() {
+    }
+
+    /**
+     * Encodes the pixels into a png stream
+     *
+     * @param rgb the packed 8-bit colors of the pixels (0xRRGGBB), row after row
+     * @param nX  amount of pixels by Width
+     * @param nY  amount of pixels by height
+     * @param out the stream to write the png into
+     * @throws IOException if an I/O error occurs
+     */
+    static void encode(int[] rgb, int nX, int nY, OutputStream out) throws IOException {
+        int rowBytes = 1 + 3 * nX;
+        int bandRows = Math.max(1, BAND_BYTES / rowBytes);
+        int bands = (nY + bandRows - 1) / bandRows;
+
+        byte[][] compressed = new byte[bands][];
+        long[] checksums = new long[bands];
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            int firstRow = band * bandRows;
+            int endRow = Math.min(firstRow + bandRows, nY);
+            byte[] raw = rawRows(rgb, nX, firstRow, endRow);
+            Adler32 adler = new Adler32();
+            adler.update(raw);
+            checksums[band] = adler.getValue();
+            compressed[band] = deflate(raw, band == bands - 1);
+        });
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.write(ZLIB_HEADER);
+        for (byte[] band : compressed)
+            data.write(band);
+        // the checksum of the whole image data is combined from the checksums of the bands
+        long checksum = 1;
+        for (int band = 0; band < bands; ++band) {
+            int length = (Math.min((band + 1) * bandRows, nY) - band * bandRows) * rowBytes;
+            checksum = combineAdler32(checksum, checksums[band], length);
+        }
+        data.write((int) (checksum >>> 24));
+        data.write((int) (checksum >>> 16));
+        data.write((int) (checksum >>> 8));
+        data.write((int) checksum);
+
+        DataOutputStream file = new DataOutputStream(out);
+        PngStreamWriter.writeHeader(file, nX, nY);
+        byte[] bytes = data.toByteArray();
+        for (int offset = 0; offset < bytes.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, bytes.length - offset);
+            byte[] chunk = new byte[length];
+            System.arraycopy(bytes, offset, chunk, 0, length);
+            PngStreamWriter.writeChunk(file, "IDAT", chunk, length);
+        }
+        PngStreamWriter.writeChunk(file, "IEND", new byte[0], 0);
+        file.flush();
+    }
+
+    /**
+     * Builds the unfiltered png rows of a band - a filter type byte and 3 bytes per pixel in a row
+     *
+     * @param rgb      the packed colors of the image
+     * @param nX       amount of pixels by Width
+     * @param firstRow the first row of the band
+     * @param endRow   the row after the last row of the band
+     * @return the bytes of the rows
+     */
+    private static byte[] rawRows(int[] rgb, int nX, int firstRow, int endRow) {
+        byte[] raw = new byte[(endRow - firstRow) * (1 + 3 * nX)];
+        int b = 0;
+        for (int y = firstRow; y < endRow; ++y) {
+            // filter type 0 - the row is stored as is
+            raw[b++] = 0;
+            for (int x = 0, i = y * nX; x < nX; ++x, ++i) {
+                int color = rgb[i];
+                raw[b++] = (byte) (color >> 16);
+                raw[b++] = (byte) (color >> 8);
+                raw[b++] = (byte) color;
+            }
+        }
+        return raw;
+    }
+
+    /**
+     * Deflates a band into raw deflate blocks, without a zlib header and checksum
+     *
+     * @param raw  the bytes of the band
+     * @param last whether it is the last band, which finishes the deflate stream
+     * @return the compressed bytes
+     */
+    private static byte[] deflate(byte[] raw, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(raw);
+        if (last)
+            deflater.finish();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int length;
+        if (last)
+            while (!deflater.finished()) {
+                length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+        else
+            // a full sync flush ends the band on a byte boundary, so the next band can follow it
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, length);
+            } while (length == buffer.length);
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    /**
+     * Combines the Adler-32 checksums of two consecutive parts of data
+     *
+     * @param adler1  the checksum of the first part
+     * @param adler2  the checksum of the second part
+     * @param length2 the length of the second part
+     * @return the checksum of both parts
+     */
+    private static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long remainder = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (remainder * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+        if (sum1 >= base) sum1 -= base;
+        if (sum1 >= base) sum1 -= base;
+        if (sum2 >= base << 1) sum2 -= base << 1;
+        if (sum2 >= base) sum2 -= base;
+        return sum2 << 16 | sum1;
+    }
+}
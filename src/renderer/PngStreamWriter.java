@@ -0,0 +1,308 @@
+package renderer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * PngStreamWriter class encodes a png file row after row, while the image is rendered.
+ * Unlike {@link ImageWriter}, it never holds the whole image - the rows are compressed and written
+ * to the file as soon as they arrive, so the memory doesn't grow with the resolution of the image.
+ * The file is finished when its last row is written.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public class PngStreamWriter implements AutoCloseable {
+
+    /**
+     * The signature that every png file starts with
+     */
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    /**
+     * The maximal size of the data of an IDAT chunk
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * amount of pixels by width
+     */
+    private final int nX;
+
+    /**
+     * amount of pixels by height
+     */
+    private final int nY;
+
+    /**
+     * the file stream
+     */
+    private final DataOutputStream file;
+
+    /**
+     * the compressed stream of the image data
+     */
+    private final DeflaterOutputStream data;
+
+    /**
+     * the deflater of the image data
+     */
+    private final Deflater deflater = new Deflater();
+
+    /**
+     * buffer of a row - a filter type byte and 3 bytes per pixel
+     */
+    private final byte[] row;
+
+    /**
+     * amount of rows written so far
+     */
+    private int rowsWritten = 0;
+
+    /**
+     * flag of whether the file is closed
+     */
+    private boolean closed = false;
+
+    private final Logger logger = Logger.getLogger("PngStreamWriter");
+
+    /**
+     * Constructor that creates the file in the images directory and writes its header
+     *
+     * @param imageName the name of png file
+     * @param nX        amount of pixels by Width
+     * @param nY        amount of pixels by height
+     * @throws IllegalStateException if the file can't be created
+     */
+    public PngStreamWriter(String imageName, int nX, int nY) {
+        if (nX <= 0 || nY <= 0)
+            throw new IllegalArgumentException("Image size must be positive");
+        this.nX = nX;
+        this.nY = nY;
+        row = new byte[1 + 3 * nX];
+        FileOutputStream out;
+        try {
+            out = new FileOutputStream(ImageWriter.FOLDER_PATH + '/' + imageName + ".png");
+        } catch (IOException e) {
+            deflater.end();
+            logger.log(Level.SEVERE, "I/O error", e);
+            throw new IllegalStateException("I/O error - may be missing directory " + ImageWriter.FOLDER_PATH, e);
+        }
+        file = new DataOutputStream(new BufferedOutputStream(out));
+        data = new DeflaterOutputStream(new ChunkOutputStream(), deflater, CHUNK_SIZE);
+        try {
+            writeHeader(file, nX, nY);
+        } catch (IOException e) {
+            release();
+            logger.log(Level.SEVERE, "I/O error", e);
+            throw new IllegalStateException("I/O error in writing the header", e);
+        }
+    }
+
+    /**
+     * View Plane Y axis resolution
+     *
+     * @return the amount of vertical pixels
+     */
+    public int getNy() {
+        return nY;
+    }
+
+    /**
+     * View Plane X axis resolution
+     *
+     * @return the amount of horizontal pixels
+     */
+    public int getNx() {
+        return nX;
+    }
+
+    /**
+     * getter
+     *
+     * @return the amount of rows that were written so far
+     */
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Writes the next rows of the image. The file is finished after the last row.
+     *
+     * @param rgb the packed 8-bit colors of the rows (0xRRGGBB), row after row
+     * @throws IllegalArgumentException if the colors don't fill whole rows, or there are too many rows
+     * @throws IllegalStateException    if an I/O error occurs, after which the file is released
+     */
+    public void writeRows(int[] rgb) {
+        if (rgb.length % nX != 0)
+            throw new IllegalArgumentException("The colors must fill whole rows");
+        int rows = rgb.length / nX;
+        if (closed || rowsWritten + rows > nY)
+            throw new IllegalArgumentException("Rows beyond the end of the image");
+
+        try {
+            for (int r = 0; r < rows; ++r) {
+                // filter type 0 - the row is stored as is
+                row[0] = 0;
+                for (int x = 0, i = r * nX, b = 1; x < nX; ++x, ++i) {
+                    int color = rgb[i];
+                    row[b++] = (byte) (color >> 16);
+                    row[b++] = (byte) (color >> 8);
+                    row[b++] = (byte) color;
+                }
+                data.write(row);
+            }
+            rowsWritten += rows;
+            if (rowsWritten == nY)
+                close();
+        } catch (IOException e) {
+            release();
+            logger.log(Level.SEVERE, "I/O error", e);
+            throw new IllegalStateException("I/O error in writing rows", e);
+        }
+    }
+
+    /**
+     * Finishes the file. Rows that were not written yet are written black, so the file is always a valid image.
+     * The file is released even if the finishing fails.
+     *
+     * @throws IllegalStateException if an I/O error occurs
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (rowsWritten < nY) {
+                Arrays.fill(row, (byte) 0);
+                for (; rowsWritten < nY; ++rowsWritten)
+                    data.write(row);
+            }
+            data.close();
+            writeChunk(file, "IEND", new byte[0], 0);
+            file.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "I/O error", e);
+            throw new IllegalStateException("I/O error in closing the image", e);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Releases the file and the deflater after the file was finished or failed. Closing the file again is harmless,
+     * and an error in closing a failed file is only logged, so it doesn't hide the original error.
+     */
+    private void release() {
+        closed = true;
+        deflater.end();
+        try {
+            file.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "I/O error in releasing the file", e);
+        }
+    }
+
+    /**
+     * Writes the signature and the header chunk of a png file of 8-bit RGB pixels
+     *
+     * @param file the png file stream
+     * @param nX   amount of pixels by Width
+     * @param nY   amount of pixels by height
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeHeader(DataOutputStream file, int nX, int nY) throws IOException {
+        file.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(nX);
+        headerData.writeInt(nY);
+        headerData.writeByte(8); // bit depth
+        headerData.writeByte(2); // color type - RGB
+        headerData.writeByte(0); // compression - deflate
+        headerData.writeByte(0); // filter method - adaptive
+        headerData.writeByte(0); // no interlace
+        writeChunk(file, "IHDR", header.toByteArray(), header.size());
+    }
+
+    /**
+     * Writes a chunk of a png file - its length, type, data and CRC
+     *
+     * @param file   the png file stream
+     * @param type   the chunk type
+     * @param bytes  the chunk data
+     * @param length the length of the data
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeChunk(DataOutputStream file, String type, byte[] bytes, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(bytes, 0, length);
+
+        file.writeInt(length);
+        file.write(typeBytes);
+        file.write(bytes, 0, length);
+        file.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Stream of the compressed image data, that writes it into IDAT chunks of bounded size
+     */
+    private class ChunkOutputStream extends OutputStream {
+
+        /**
+         * the data of the next chunk
+         */
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+
+        /**
+         * the amount of bytes in the buffer
+         */
+        private int size = 0;
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[size++] = (byte) b;
+            if (size == CHUNK_SIZE)
+                flushChunk();
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                int count = Math.min(length, CHUNK_SIZE - size);
+                System.arraycopy(bytes, offset, buffer, size, count);
+                size += count;
+                offset += count;
+                length -= count;
+                if (size == CHUNK_SIZE)
+                    flushChunk();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+
+        /**
+         * Writes the buffer as an IDAT chunk
+         *
+         * @throws IOException if an I/O error occurs
+         */
+        private void flushChunk() throws IOException {
+            if (size == 0)
+                return;
+            writeChunk(file, "IDAT", buffer, size);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * RayGenerator is a helper class for constructing the primary rays of a camera's rendering.<br/>
+ * The direction from the camera's position to the center of the first pixel and the steps between adjacent
+ * columns and rows of pixels are calculated once per rendering, so the direction of a ray through any point of
+ * the view plane is a few multiplications and additions, without intermediate points and vectors.
+ * The points of the view plane are given in pixel units: the center of pixel (j, i) is at (j, i),
+ * and its corners are half a pixel away from it.<br/>
+ * A generator is immutable and is shared by all the rendering threads.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class RayGenerator {
+
+    /**
+     * the camera's position, which the rays start at
+     */
+    private final Point p0;
+
+    /**
+     * direction from the camera's position to the center of the top left pixel
+     */
+    private final double originX, originY, originZ;
+
+    /**
+     * step along the view plane from a column of pixels to the next one
+     */
+    private final double columnX, columnY, columnZ;
+
+    /**
+     * step along the view plane from a row of pixels to the next one
+     */
+    private final double rowX, rowY, rowZ;
+
+    /**
+     * Constructor to initialize the generator with the view plane of a camera
+     *
+     * @param p0     the camera's position
+     * @param center the center of the view plane
+     * @param vRight the right direction of the view plane, normalized
+     * @param vUp    the up direction of the view plane, normalized
+     * @param width  the width of the view plane
+     * @param height the height of the view plane
+     * @param nX     the number of pixels along the x-axis
+     * @param nY     the number of pixels along the y-axis
+     */
+    RayGenerator(Point p0, Point center, Vector vRight, Vector vUp, double width, double height, int nX, int nY) {
+        this.p0 = p0;
+        double rX = width / nX;
+        double rY = height / nY;
+        columnX = vRight.getX() * rX;
+        columnY = vRight.getY() * rX;
+        columnZ = vRight.getZ() * rX;
+        rowX = -vUp.getX() * rY;
+        rowY = -vUp.getY() * rY;
+        rowZ = -vUp.getZ() * rY;
+
+        // the center of the view plane is between the middle columns and the middle rows
+        double middleX = (nX - 1) / 2d, middleY = (nY - 1) / 2d;
+        originX = center.getX() - p0.getX() - columnX * middleX - rowX * middleY;
+        originY = center.getY() - p0.getY() - columnY * middleX - rowY * middleY;
+        originZ = center.getZ() - p0.getZ() - columnZ * middleX - rowZ * middleY;
+    }
+
+    /**
+     * Constructs the ray from the camera's position through a point of the view plane
+     *
+     * @param u the column coordinate of the point, in pixels
+     * @param v the row coordinate of the point, in pixels
+     * @return the ray through the point
+     */
+    Ray ray(double u, double v) {
+        return new Ray(p0, new Vector(
+                originX + columnX * u + rowX * v,
+                originY + columnY * u + rowY * v,
+                originZ + columnZ * u + rowZ * v));
+    }
+
+    /**
+     * Fills the (not normalized) directions of the rays through the centers of the pixels of a tile,
+     * row after row, into arrays of coordinates. The part of the directions that depends on the column is found
+     * once for the tile, and every direction equals the direction of {@link #ray(double, double)} of its pixel
+     * exactly, whatever the tile is.
+     *
+     * @param tile the tile
+     * @param xs   array of at least as many numbers as the pixels of the tile, for the x coordinates
+     * @param ys   array of at least as many numbers as the pixels of the tile, for the y coordinates
+     * @param zs   array of at least as many numbers as the pixels of the tile, for the z coordinates
+     */
+    void fillTile(TileManager.Tile tile, double[] xs, double[] ys, double[] zs) {
+        int columns = tile.x1() - tile.x0();
+        // the first row keeps the column part of the directions, which the next rows reuse
+        for (int j = 0; j < columns; ++j) {
+            xs[j] = originX + columnX * (tile.x0() + j);
+            ys[j] = originY + columnY * (tile.x0() + j);
+            zs[j] = originZ + columnZ * (tile.x0() + j);
+        }
+        for (int i = tile.y1() - 1; i >= tile.y0(); --i) {
+            double x = rowX * i, y = rowY * i, z = rowZ * i;
+            int row = (i - tile.y0()) * columns;
+            for (int j = 0; j < columns; ++j) {
+                xs[row + j] = xs[j] + x;
+                ys[row + j] = ys[j] + y;
+                zs[row + j] = zs[j] + z;
+            }
+        }
+    }
+}
@@ -1,13 +1,10 @@
 package renderer;
 
+import geometries.Intersectable.GeoPoint;
 import primitives.Color;
-import primitives.Point;
 import primitives.Ray;
-import primitives.Vector;
 import scene.Scene;
 
-import java.util.List;
-
 
 /**
  * An abstract class representing a basic Ray Tracer.
@@ -41,5 +38,16 @@ public abstract class RayTracerBase {
      */
     public abstract Color traceRay(Ray ray);
 
-    public abstract Color adaptiveSuperSamplingRec(Point centerP, double Width, double Height, double minWidth, double minHeight, Point cameraLoc, Vector Vright, Vector Vup, List<Point> prePoints);
+    /**
+     * Traces the specified ray like {@link #traceRay(Ray)}, and also reports the closest intersection of the ray,
+     * for renderers that look at the geometry of the image. This implementation reports no intersection.
+     *
+     * @param ray the ray being traced
+     * @param hit array whose first cell receives the closest intersection, or null if none is reported
+     * @return the color of the closest intersection
+     */
+    public Color traceRay(Ray ray, GeoPoint[] hit) {
+        hit[0] = null;
+        return traceRay(ray);
+    }
 }
@@ -5,7 +5,6 @@ import lighting.LightSource;
 import primitives.*;
 import scene.Scene;
 
-import java.util.LinkedList;
 import java.util.List;
 
 import static primitives.Util.alignZero;
@@ -31,12 +30,25 @@ public class RayTracerBasic extends RayTracerBase {
 
     @Override
     public Color traceRay(Ray ray) {
+        RenderStats.Counters counters = RenderStats.Counters.local();
+        if (counters != null)
+            ++counters.primaryRays;
 
         GeoPoint closestPoint = findClosestIntersection(ray);
         return closestPoint == null ? scene.background
                 : calcColor(closestPoint, ray);
     }
 
+    @Override
+    public Color traceRay(Ray ray, GeoPoint[] hit) {
+        RenderStats.Counters counters = RenderStats.Counters.local();
+        if (counters != null)
+            ++counters.primaryRays;
+        GeoPoint closestPoint = hit[0] = findClosestIntersection(ray);
+        return closestPoint == null ? scene.background
+                : calcColor(closestPoint, ray);
+    }
+
 
     /**
      * Calculates the color at the intersection point of a ray with a geometric object,
@@ -185,6 +197,7 @@ public class RayTracerBasic extends RayTracerBase {
 
         // Create a ray from the geometric point towards the light source
         Ray lightRay = new Ray(gp.point, lightDirection, n);
+        countShadowRay();
 
         // Find the intersections between the ray and the geometries in the scene
         List<GeoPoint> intersections = scene.geometries.findGeoIntersections(lightRay, light.getDistance(gp.point));
@@ -196,6 +209,15 @@ public class RayTracerBasic extends RayTracerBase {
         return intersections.isEmpty();
     }
 
+    /**
+     * Counts a ray towards a light source, if the rendering is counted
+     */
+    private static void countShadowRay() {
+        RenderStats.Counters counters = RenderStats.Counters.local();
+        if (counters != null)
+            ++counters.shadowRays;
+    }
+
     /**
      * Calculates the transparency factor for a given light source, light direction, surface normal, and intersection point.
      *
@@ -211,30 +233,11 @@ public class RayTracerBasic extends RayTracerBase {
 
         Point point = gp.point;
         Ray lightRay = new Ray(point, lightDirection, n);
+        countShadowRay();
 
-        double maxDistance = lightSource.getDistance(point);
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(lightRay, maxDistance);
-
-        // If there are no intersections, return full transparency
-        if (intersections == null)
-            return Double3.ONE;
-
-        Double3 ktr = Double3.ONE;
-
-        for (GeoPoint geo : intersections) {
-            // Check if the intersection point is closer to the light source than the current point
-            if (point.distance(geo.point) < lightSource.getDistance(point)) {
-                // Multiply the transparency factor by the kT value of the intersected geometry
-                ktr = geo.geometry.getKt().product(ktr);
-            }
-
-            // If the transparency factor is zero, no light can pass through
-            if (ktr.equals(Double3.ZERO)) {
-                return Double3.ZERO;
-            }
-        }
-
-        return ktr;
+        // Only occluders closer than the light source shade the point,
+        // and the query stops at the first opaque one
+        return scene.geometries.calcTransparency(lightRay, lightSource.getDistance(point));
     }
 
 
@@ -253,10 +256,10 @@ public class RayTracerBasic extends RayTracerBase {
         Material material = gp.geometry.getMaterial();
 
         // Calculate the color contribution from reflection
-        Color reflectionColor = calcGlobalEffect(constructReflectedRay(gp, v, n), level, k, material.kR);
+        Color reflectionColor = calcGlobalEffect(constructReflectedRay(gp, v, n), level, k, material.kR, true);
 
         // Calculate the color contribution from refraction
-        Color refractionColor = calcGlobalEffect(constructRefractedRay(gp, v, n), level, k, material.kT);
+        Color refractionColor = calcGlobalEffect(constructRefractedRay(gp, v, n), level, k, material.kT, false);
 
         // Return the color with the combined global effects
         return reflectionColor.add(refractionColor);
@@ -266,19 +269,26 @@ public class RayTracerBasic extends RayTracerBase {
     /**
      * Calculates the global effect (reflection or refraction) for a given ray, recursion level, coefficient, and material coefficient.
      *
-     * @param ray   The ray being traced.
-     * @param level The recursion level.
-     * @param k     The coefficient.
-     * @param kx    The material coefficient for reflection (kR) or refraction (kT).
+     * @param ray        The ray being traced.
+     * @param level      The recursion level.
+     * @param k          The coefficient.
+     * @param kx         The material coefficient for reflection (kR) or refraction (kT).
+     * @param reflection true for a reflected ray, false for a refracted one
      * @return The color with the global effect.
      */
-    private Color calcGlobalEffect(Ray ray, int level, Double3 k, Double3 kx) {
+    private Color calcGlobalEffect(Ray ray, int level, Double3 k, Double3 kx, boolean reflection) {
         Double3 kkx = k.product(kx);
 
         // Check if the product of the coefficients is lower than the minimum threshold, return black color
         if (kkx.lowerThan(MIN_CALC_COLOR_K))
             return Color.BLACK;
 
+        RenderStats.Counters counters = RenderStats.Counters.local();
+        if (counters != null) {
+            if (reflection) ++counters.reflectionRays;
+            else ++counters.refractionRays;
+        }
+
         // Find the closest intersection point with the ray
         GeoPoint gp = findClosestIntersection(ray);
 
@@ -304,14 +314,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @return The closest GeoPoint of intersection, or null if no intersections are found.
      */
     private GeoPoint findClosestIntersection(Ray ray) {
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(ray);
-
-        // If no intersections are found, return null
-        if (intersections == null)
-            return null;
-
-        // Find and return the closest GeoPoint of intersection
-        return ray.findClosestGeoPoint(intersections);
+        return scene.geometries.findClosestGeoIntersection(ray);
     }
 
 
@@ -345,54 +348,4 @@ public class RayTracerBasic extends RayTracerBase {
     private Ray constructRefractedRay(GeoPoint gp, Vector v, Vector n) {
         return new Ray(gp.point, v, n);
     }
-
-    @Override
-    public Color adaptiveSuperSamplingRec(Point centerP, double Width, double Height, double minWidth, double minHeight, Point cameraLocation, Vector Vright, Vector Vup, List<Point> prePoints) {
-
-        if (Width < minWidth * 2 || Height < minHeight * 2) {
-            return this.traceRay(new Ray(cameraLocation, centerP.subtract(cameraLocation)));
-        }
-
-        List<Point> nextCenterPList = new LinkedList<>();
-        List<Point> cornersList = new LinkedList<>();
-        List<primitives.Color> colorList = new LinkedList<>();
-        Point tempCorner;
-        Ray tempRay;
-        for (int i = -1; i <= 1; i += 2) {
-            for (int j = -1; j <= 1; j += 2) {
-
-                tempCorner = centerP.add(Vright.scale(i * Width / 2)).add(Vup.scale(j * Height / 2));
-                cornersList.add(tempCorner);
-                if (prePoints == null || !prePoints.contains(tempCorner)) {
-                    tempRay = new Ray(cameraLocation, tempCorner.subtract(cameraLocation));
-                    nextCenterPList.add(centerP.add(Vright.scale(i * Width / 4)).add(Vup.scale(j * Height / 4)));
-                    colorList.add(traceRay(tempRay));
-                }
-            }
-        }
-
-
-        if (nextCenterPList == null || nextCenterPList.size() == 0) {
-            return primitives.Color.BLACK;
-        }
-
-
-        boolean isAllEquals = true;
-        primitives.Color tempColor = colorList.get(0);
-        for (primitives.Color color : colorList) {
-            if (!tempColor.almostEquals(color))
-                isAllEquals = false;
-        }
-        if (isAllEquals && colorList.size() > 1)
-            return tempColor;
-
-
-        tempColor = primitives.Color.BLACK;
-        for (Point center : nextCenterPList) {
-            tempColor = tempColor
-                    .add(adaptiveSuperSamplingRec(center, Width / 2, Height / 2, minWidth, minHeight, cameraLocation, Vright, Vup, cornersList));
-        }
-        return tempColor.reduce(nextCenterPList.size());
-
-    }
 }
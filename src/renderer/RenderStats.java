@@ -0,0 +1,322 @@
+package renderer;
+
+import geometries.IntersectionStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RenderStats is the performance report of a rendering of a {@link Camera} with statistics turned on:
+ * the amounts of traced rays of every kind, the intersection tests of every type of geometry,
+ * the visited nodes of the bounding volume hierarchies, the rate of the rays,
+ * the busy time of every rendering thread and a histogram of the rendering times of the tiles.<br/>
+ * Every counted rendering has a {@link Collector} of its own, to which its threads are bound while they render
+ * its tiles. Every thread counts into counters of its own, which are summed into the report
+ * after all the threads finished, so renderings of several cameras can be counted at the same time.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public class RenderStats {
+
+    /**
+     * amount of buckets of the tile time histogram
+     */
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    /**
+     * the time of the rendering in nanoseconds
+     */
+    private final long elapsed;
+
+    /**
+     * amounts of traced rays of every kind
+     */
+    private final long primaryRays, shadowRays, reflectionRays, refractionRays;
+
+    /**
+     * amounts of intersection tests by the types of the tested geometries
+     */
+    private final Map<String, Long> intersectionTests;
+
+    /**
+     * amount of visited hierarchy nodes
+     */
+    private final long nodeVisits;
+
+    /**
+     * the time in nanoseconds that every thread spent on rendering tiles, by the names of the threads
+     */
+    private final Map<String, Long> busyTimes;
+
+    /**
+     * amounts of tiles by their rendering times - bucket k counts the tiles of 2^k to 2^(k+1) microseconds
+     */
+    private final long[] tileHistogram;
+
+    /**
+     * Constructor to sum the counters of all the threads of a rendering into a report
+     *
+     * @param elapsed   the time of the rendering in nanoseconds
+     * @param collector the counters of the rendering
+     */
+    private RenderStats(long elapsed, Collector collector) {
+        this.elapsed = elapsed;
+        long primary = 0, shadow = 0, reflection = 0, refraction = 0;
+        Map<String, Long> busy = new TreeMap<>();
+        tileHistogram = new long[HISTOGRAM_BUCKETS];
+        for (Counters counters : collector.threads) {
+            primary += counters.primaryRays;
+            shadow += counters.shadowRays;
+            reflection += counters.reflectionRays;
+            refraction += counters.refractionRays;
+            if (counters.busyTime > 0)
+                busy.merge(counters.threadName, counters.busyTime, Long::sum);
+            for (int k = 0; k < HISTOGRAM_BUCKETS; ++k)
+                tileHistogram[k] += counters.tileHistogram[k];
+        }
+        primaryRays = primary;
+        shadowRays = shadow;
+        reflectionRays = reflection;
+        refractionRays = refraction;
+        busyTimes = Collections.unmodifiableMap(busy);
+        intersectionTests = Collections.unmodifiableMap(collector.intersections.getTests());
+        nodeVisits = collector.intersections.getNodeVisits();
+    }
+
+    /**
+     * getter
+     *
+     * @return the time of the rendering in nanoseconds
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of rays from the camera
+     */
+    public long getPrimaryRays() {
+        return primaryRays;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of rays towards the light sources
+     */
+    public long getShadowRays() {
+        return shadowRays;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of reflected rays
+     */
+    public long getReflectionRays() {
+        return reflectionRays;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of refracted rays
+     */
+    public long getRefractionRays() {
+        return refractionRays;
+    }
+
+    /**
+     * Calculates the total amount of rays of all kinds
+     *
+     * @return amount of traced rays
+     */
+    public long getTotalRays() {
+        return primaryRays + shadowRays + reflectionRays + refractionRays;
+    }
+
+    /**
+     * Calculates the rate of the rays of all kinds
+     *
+     * @return amount of traced rays per second of the rendering
+     */
+    public double getRaysPerSecond() {
+        return elapsed == 0 ? 0 : getTotalRays() * 1e9 / elapsed;
+    }
+
+    /**
+     * getter
+     *
+     * @return amounts of intersection tests by the simple names of the types of the tested geometries
+     */
+    public Map<String, Long> getIntersectionTests() {
+        return intersectionTests;
+    }
+
+    /**
+     * getter
+     *
+     * @return amount of visited nodes of the bounding volume hierarchies
+     */
+    public long getNodeVisits() {
+        return nodeVisits;
+    }
+
+    /**
+     * getter
+     *
+     * @return the time in nanoseconds that every thread spent on rendering tiles, by the names of the threads
+     */
+    public Map<String, Long> getBusyTimes() {
+        return busyTimes;
+    }
+
+    /**
+     * getter
+     *
+     * @return amounts of tiles by their rendering times - bucket k counts the tiles of 2^k to 2^(k+1) microseconds
+     * (bucket 0 also counts the tiles of less than a microsecond)
+     */
+    public long[] getTileHistogram() {
+        return tileHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("time: %.3f s%n", elapsed / 1e9));
+        report.append(String.format("rays: %d primary, %d shadow, %d reflection, %d refraction (%.0f rays/s)%n",
+                primaryRays, shadowRays, reflectionRays, refractionRays, getRaysPerSecond()));
+        report.append("intersection tests:");
+        intersectionTests.forEach((type, count) -> report.append(' ').append(type).append('=').append(count));
+        report.append(String.format("%nhierarchy node visits: %d%n", nodeVisits));
+        report.append("busy time (ms):");
+        busyTimes.forEach((thread, time) -> report.append(' ').append(thread).append('=').append(time / 1000000));
+        report.append(String.format("%ntile times (us):"));
+        for (int k = 0; k < HISTOGRAM_BUCKETS; ++k)
+            if (tileHistogram[k] != 0)
+                report.append(' ').append(1L << k).append("+=").append(tileHistogram[k]);
+        return report.append(System.lineSeparator()).toString();
+    }
+
+    /**
+     * The counters of a single rendering. A thread counts into them only while it is bound to them.
+     */
+    static class Collector {
+
+        /**
+         * the counters of the threads that counted in the rendering
+         */
+        private final Queue<Counters> threads = new ConcurrentLinkedQueue<>();
+
+        /**
+         * the counters of every thread in the rendering, created when the thread is bound for the first time
+         */
+        private final ThreadLocal<Counters> own = ThreadLocal.withInitial(() -> {
+            Counters counters = new Counters();
+            threads.add(counters);
+            return counters;
+        });
+
+        /**
+         * the intersection tests of the rendering
+         */
+        private final IntersectionStats intersections = new IntersectionStats();
+
+        /**
+         * Binds the current thread to the rendering, so its rays, tiles and intersection tests are counted into it
+         * until {@link #unbind()} is called
+         */
+        void bind() {
+            if (Counters.current.get() == null)
+                Counters.bound.incrementAndGet();
+            Counters.current.set(own.get());
+            intersections.bind();
+        }
+
+        /**
+         * Unbinds the current thread from its rendering, so it doesn't count anymore
+         */
+        static void unbind() {
+            if (Counters.current.get() != null) {
+                Counters.current.remove();
+                Counters.bound.decrementAndGet();
+            }
+            IntersectionStats.unbind();
+        }
+
+        /**
+         * Sums the counters of all the threads of the rendering into a report, after all the threads finished
+         *
+         * @param elapsed the time of the rendering in nanoseconds
+         * @return the report
+         */
+        RenderStats finish(long elapsed) {
+            return new RenderStats(elapsed, this);
+        }
+    }
+
+    /**
+     * The counters of a single thread in a counted rendering
+     */
+    static class Counters {
+
+        /**
+         * the counters that the current thread counts into, null if the thread is not bound to a rendering
+         */
+        private static final ThreadLocal<Counters> current = new ThreadLocal<>();
+
+        /**
+         * amount of threads that are bound to renderings, so the lookup of the counters is skipped
+         * when nothing is counted
+         */
+        private static final AtomicInteger bound = new AtomicInteger();
+
+        /**
+         * the name of the counting thread
+         */
+        private final String threadName = Thread.currentThread().getName();
+
+        /**
+         * amounts of traced rays of every kind
+         */
+        long primaryRays, shadowRays, reflectionRays, refractionRays;
+
+        /**
+         * the time in nanoseconds that the thread spent on rendering tiles
+         */
+        private long busyTime;
+
+        /**
+         * amounts of tiles by their rendering times
+         */
+        private final long[] tileHistogram = new long[HISTOGRAM_BUCKETS];
+
+        /**
+         * Returns the counters of the current thread
+         *
+         * @return the counters, or null if the thread is not bound to a counted rendering
+         */
+        static Counters local() {
+            return bound.get() == 0 ? null : current.get();
+        }
+
+        /**
+         * Counts a rendered tile
+         *
+         * @param time the rendering time of the tile in nanoseconds
+         */
+        void countTile(long time) {
+            busyTime += time;
+            long micros = time / 1000;
+            int bucket = micros <= 1 ? 0 : 63 - Long.numberOfLeadingZeros(micros);
+            tileHistogram[Math.min(bucket, HISTOGRAM_BUCKETS - 1)]++;
+        }
+    }
+}
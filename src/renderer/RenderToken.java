@@ -0,0 +1,94 @@
+package renderer;
+
+/**
+ * RenderToken lets the caller of {@link Camera#renderImage(RenderToken)} stop the rendering,
+ * either explicitly or when a time budget runs out, and tells afterwards how much of the work was done.<br/>
+ * The rendering threads check the token between tiles, so a stopped rendering leaves a partially rendered image.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public class RenderToken {
+
+    /**
+     * Flag of an explicit cancellation
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * The time (of {@link System#nanoTime()}) at which the rendering stops, if the token has a time budget
+     */
+    private final long deadline;
+
+    /**
+     * Flag of whether the token has a time budget
+     */
+    private final boolean hasDeadline;
+
+    /**
+     * The completed part of the rendering, between 0 and 1
+     */
+    private volatile double completed = 0;
+
+    /**
+     * Creates a token without a time budget, which stops the rendering only when cancelled
+     */
+    public RenderToken() {
+        deadline = 0;
+        hasDeadline = false;
+    }
+
+    /**
+     * Creates a token with a time budget, counted from now
+     *
+     * @param seconds the time budget in seconds
+     */
+    public RenderToken(double seconds) {
+        if (seconds <= 0)
+            throw new IllegalArgumentException("Time budget must be positive");
+        deadline = System.nanoTime() + (long) (seconds * 1e9);
+        hasDeadline = true;
+    }
+
+    /**
+     * Stops the rendering that uses the token. Can be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the rendering has to stop
+     *
+     * @return true if the token was cancelled or its time budget ran out
+     */
+    public boolean isCancelled() {
+        return cancelled || hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * getter
+     *
+     * @return the completed part of the last rendering, between 0 and 1
+     */
+    public double getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Checks whether the last rendering was completed
+     *
+     * @return true if all the work of the rendering was done
+     */
+    public boolean isCompleted() {
+        return completed == 1;
+    }
+
+    /**
+     * setter for the camera, at the end of a rendering
+     *
+     * @param completed the completed part of the rendering, between 0 and 1
+     */
+    void setCompleted(double completed) {
+        this.completed = completed;
+    }
+}
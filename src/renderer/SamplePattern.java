@@ -0,0 +1,20 @@
+package renderer;
+
+/**
+ * SamplePattern interface represents a way of placing the anti-aliasing samples inside a pixel.
+ * The built-in patterns are in {@link SamplePatterns}.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public interface SamplePattern {
+
+    /**
+     * Places the samples of a pixel inside the unit square [0,1) x [0,1).
+     * The same seed must always give the same samples, so that renderings are repeatable.
+     *
+     * @param count   amount of samples
+     * @param seed    the seed of the pixel
+     * @param offsets array of at least 2 * count numbers, filled with the x and y of every sample in turn
+     */
+    void fill(int count, long seed, double[] offsets);
+}
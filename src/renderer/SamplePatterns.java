@@ -0,0 +1,201 @@
+package renderer;
+
+import java.util.SplittableRandom;
+
+/**
+ * The built-in sample patterns. All of them are deterministic for a given seed of a pixel.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+public enum SamplePatterns implements SamplePattern {
+
+    /**
+     * Regular grid - the centers of the cells of a square grid, the same in every pixel.
+     * The cells are taken in a fixed shuffled order, so a part of the samples, or an amount that is not a square,
+     * is spread over the whole pixel.
+     */
+    GRID {
+        @Override
+        public void fill(int count, long seed, double[] offsets) {
+            int side = side(count);
+            int[] cells = shuffledCells(side, new SplittableRandom(GRID_ORDER_SEED));
+            for (int i = 0; i < count; ++i) {
+                offsets[2 * i] = (cells[i] % side + 0.5) / side;
+                offsets[2 * i + 1] = (cells[i] / side + 0.5) / side;
+            }
+        }
+    },
+
+    /**
+     * Jittered stratified - a random point in every cell of a square grid.
+     * The cells are taken in a random order of the pixel, so a part of the samples, or an amount that is not
+     * a square, is spread over the whole pixel.
+     */
+    JITTERED {
+        @Override
+        public void fill(int count, long seed, double[] offsets) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int side = side(count);
+            int[] cells = shuffledCells(side, random);
+            for (int i = 0; i < count; ++i) {
+                offsets[2 * i] = (cells[i] % side + random.nextDouble()) / side;
+                offsets[2 * i + 1] = (cells[i] / side + random.nextDouble()) / side;
+            }
+        }
+    },
+
+    /**
+     * Halton sequence of bases 2 and 3, shifted by a random offset of the pixel (Cranley-Patterson rotation)
+     * so that adjacent pixels don't share their pattern
+     */
+    HALTON {
+        @Override
+        public void fill(int count, long seed, double[] offsets) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double shiftX = random.nextDouble(), shiftY = random.nextDouble();
+            for (int i = 0; i < count; ++i) {
+                offsets[2 * i] = wrap(radicalInverse(i + 1, 2) + shiftX);
+                offsets[2 * i + 1] = wrap(radicalInverse(i + 1, 3) + shiftY);
+            }
+        }
+    },
+
+    /**
+     * The first two dimensions of the Sobol sequence, scrambled by a random XOR of the pixel.
+     * Every power of 2 of samples is stratified in all the elementary intervals.
+     */
+    SOBOL {
+        @Override
+        public void fill(int count, long seed, double[] offsets) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int scrambleX = random.nextInt(), scrambleY = random.nextInt();
+            for (int i = 0; i < count; ++i) {
+                // the first dimension is the bit reversal of the index,
+                // the second uses the direction numbers of the polynomial x + 1
+                int x = Integer.reverse(i);
+                int y = 0;
+                for (int v = 1 << 31, bits = i; bits != 0; bits >>>= 1, v ^= v >>> 1)
+                    if ((bits & 1) != 0)
+                        y ^= v;
+                offsets[2 * i] = toUnit(x ^ scrambleX);
+                offsets[2 * i + 1] = toUnit(y ^ scrambleY);
+            }
+        }
+    },
+
+    /**
+     * Blue noise by Mitchell's best candidate - every sample is the farthest (on the torus) of a few random
+     * candidates from the samples before it. Above {@link #MAX_BLUE_NOISE} samples the search is too slow,
+     * and the samples are jittered stratified instead.
+     */
+    BLUE_NOISE {
+        @Override
+        public void fill(int count, long seed, double[] offsets) {
+            if (count > MAX_BLUE_NOISE) {
+                JITTERED.fill(count, seed, offsets);
+                return;
+            }
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < count; ++i) {
+                double bestX = 0, bestY = 0, bestDistance = -1;
+                for (int c = 0; c < CANDIDATES; ++c) {
+                    double x = random.nextDouble(), y = random.nextDouble();
+                    double distance = Double.POSITIVE_INFINITY;
+                    for (int j = 0; j < i && distance > bestDistance; ++j) {
+                        double dx = Math.abs(x - offsets[2 * j]), dy = Math.abs(y - offsets[2 * j + 1]);
+                        dx = Math.min(dx, 1 - dx);
+                        dy = Math.min(dy, 1 - dy);
+                        distance = Math.min(distance, dx * dx + dy * dy);
+                    }
+                    if (distance > bestDistance) {
+                        bestDistance = distance;
+                        bestX = x;
+                        bestY = y;
+                    }
+                }
+                offsets[2 * i] = bestX;
+                offsets[2 * i + 1] = bestY;
+            }
+        }
+    };
+
+    /**
+     * The maximal amount of samples of the blue noise pattern
+     */
+    public static final int MAX_BLUE_NOISE = 256;
+
+    /**
+     * The amount of candidates of every blue noise sample
+     */
+    private static final int CANDIDATES = 8;
+
+    /**
+     * The seed of the order of the cells of the grid pattern
+     */
+    private static final long GRID_ORDER_SEED = 0x5DEECE66DL;
+
+    /**
+     * Calculates the side of the smallest square grid with enough cells
+     *
+     * @param count amount of samples
+     * @return the amount of cells in a row of the grid
+     */
+    private static int side(int count) {
+        int side = (int) Math.sqrt(count);
+        return side * side < count ? side + 1 : side;
+    }
+
+    /**
+     * Orders the cells of a square grid randomly (Fisher-Yates shuffle)
+     *
+     * @param side   the amount of cells in a row of the grid
+     * @param random the random generator of the order
+     * @return the indices of the cells, row after row, in a random order
+     */
+    private static int[] shuffledCells(int side, SplittableRandom random) {
+        int[] cells = new int[side * side];
+        for (int i = 0; i < cells.length; ++i)
+            cells[i] = i;
+        for (int i = cells.length - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            int cell = cells[i];
+            cells[i] = cells[j];
+            cells[j] = cell;
+        }
+        return cells;
+    }
+
+    /**
+     * Calculates the radical inverse of a number - its digits in a base mirrored around the fraction point
+     *
+     * @param index the number
+     * @param base  the base
+     * @return the radical inverse, in [0,1)
+     */
+    private static double radicalInverse(int index, int base) {
+        double result = 0, fraction = 1.0 / base;
+        for (; index > 0; index /= base, fraction /= base)
+            result += (index % base) * fraction;
+        return result;
+    }
+
+    /**
+     * Wraps a number in [0,2) into [0,1)
+     *
+     * @param value the number
+     * @return the fraction part of the number
+     */
+    private static double wrap(double value) {
+        return value >= 1 ? value - 1 : value;
+    }
+
+    /**
+     * Converts the 32 bits of a binary fraction into a number
+     *
+     * @param bits the bits of the fraction
+     * @return the number, in [0,1)
+     */
+    private static double toUnit(int bits) {
+        return (bits & 0xFFFFFFFFL) / 4294967296.0;
+    }
+}
@@ -0,0 +1,162 @@
+package renderer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TileManager is a helper class for multi-threaded rendering and for following up its progress.<br/>
+ * The image is divided into square tiles, which are handed out to the rendering threads by an atomic counter,
+ * so no thread ever waits for a lock. The progress is counted per tile in a striped counter
+ * and summed only when the percentage is checked for printing.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class TileManager {
+    /**
+     * Printing format
+     */
+    private static final String PRINT_FORMAT = "%5.1f%%\r";
+
+    /**
+     * Amount of pixel columns in the image
+     */
+    private final int nX;
+    /**
+     * First row of the rendered band of rows
+     */
+    private final int firstRow;
+    /**
+     * Row after the last row of the rendered band of rows
+     */
+    private final int endRow;
+    /**
+     * Width and height of a tile in pixels
+     */
+    private final int tileSize;
+    /**
+     * Amount of tiles in a row of tiles
+     */
+    private final int tileCols;
+    /**
+     * Total amount of tiles in the image
+     */
+    private final int totalTiles;
+    /**
+     * Total amount of pixels in the image
+     */
+    private final long totalPixels;
+
+    /**
+     * Index of the next tile to be handed out
+     */
+    private final AtomicInteger nextTile = new AtomicInteger();
+    /**
+     * Amount of pixels of the image before the band of rows, which are counted as processed
+     */
+    private final long pixelsBefore;
+    /**
+     * Amount of pixels that have been processed, counted in separate cells by the threads
+     */
+    private final LongAdder pixels = new LongAdder();
+    /**
+     * Last printed progress update percentage (in tenths of a percent)
+     */
+    private final AtomicInteger lastPrinted = new AtomicInteger();
+
+    /**
+     * Flag of debug printing of progress percentage
+     */
+    private final boolean print;
+    /**
+     * Progress percentage printing interval (in tenths of a percent)
+     */
+    private final int printInterval;
+
+    /**
+     * Initialize tile manager data for multi-threading
+     *
+     * @param nX       the amount of pixel columns
+     * @param nY       the amount of pixel rows
+     * @param tileSize the width and height of a tile in pixels
+     * @param interval print interval in percents, 0 if printing is not required
+     */
+    TileManager(int nX, int nY, int tileSize, double interval) {
+        this(nX, nY, 0, nY, tileSize, interval);
+    }
+
+    /**
+     * Initialize tile manager data for rendering a band of rows of the image,
+     * with the progress percentage of the whole image
+     *
+     * @param nX       the amount of pixel columns
+     * @param nY       the amount of pixel rows
+     * @param firstRow the first row of the band
+     * @param endRow   the row after the last row of the band
+     * @param tileSize the width and height of a tile in pixels
+     * @param interval print interval in percents, 0 if printing is not required
+     */
+    TileManager(int nX, int nY, int firstRow, int endRow, int tileSize, double interval) {
+        this.nX = nX;
+        this.firstRow = firstRow;
+        this.endRow = endRow;
+        this.tileSize = tileSize;
+        tileCols = (nX + tileSize - 1) / tileSize;
+        totalTiles = tileCols * ((endRow - firstRow + tileSize - 1) / tileSize);
+        totalPixels = (long) nX * nY;
+        pixelsBefore = (long) nX * firstRow;
+        printInterval = (int) (interval * 10);
+        lastPrinted.set((int) (1000L * pixelsBefore / totalPixels));
+        if ((print = printInterval != 0) && firstRow == 0) System.out.printf(PRINT_FORMAT, 0d);
+    }
+
+    /**
+     * Hands out the next tile that has not been rendered yet. Safe to be called by several threads at once.
+     *
+     * @return the next tile, or null if there are no more tiles
+     */
+    Tile nextTile() {
+        int index = nextTile.getAndIncrement();
+        if (index >= totalTiles) return null;
+
+        int x0 = (index % tileCols) * tileSize;
+        int y0 = firstRow + (index / tileCols) * tileSize;
+        return new Tile(x0, y0, Math.min(x0 + tileSize, nX), Math.min(y0 + tileSize, endRow));
+    }
+
+    /**
+     * Finish tile processing by updating and printing of progress percentage
+     *
+     * @param tile the rendered tile
+     */
+    void tileDone(Tile tile) {
+        pixels.add((long) (tile.x1 - tile.x0) * (tile.y1 - tile.y0));
+        if (!print) return;
+
+        int percentage = (int) (1000L * (pixelsBefore + pixels.sum()) / totalPixels);
+        int last = lastPrinted.get();
+        // only the thread that advances the last printed percentage prints it
+        if (percentage - last >= printInterval && lastPrinted.compareAndSet(last, percentage))
+            System.out.printf(PRINT_FORMAT, percentage / 10d);
+    }
+
+    /**
+     * getter
+     *
+     * @return the amount of pixels in the tiles that were done
+     */
+    long getDonePixels() {
+        return pixels.sum();
+    }
+
+    /**
+     * Immutable class for a tile of pixels - the columns from x0 to x1 and the rows from y0 to y1,
+     * the last ones excluded
+     *
+     * @param x0 first column of the tile
+     * @param y0 first row of the tile
+     * @param x1 column after the last column of the tile
+     * @param y1 row after the last row of the tile
+     */
+    record Tile(int x0, int y0, int x1, int y1) {
+    }
+}
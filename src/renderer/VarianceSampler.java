@@ -0,0 +1,122 @@
+package renderer;
+
+import primitives.Color;
+
+/**
+ * VarianceSampler is a helper class for variance driven adaptive sampling of the pixels of a camera.<br/>
+ * The samples of a pixel are added one by one while the running mean and variance of every color component
+ * are kept (by Welford's method), until the estimated error of the mean - the standard deviation divided by
+ * the square root of the amount of samples - drops below a threshold, or the maximal amount of samples is reached.
+ * Flat regions stop after a few samples, and the work goes to edges, shadows and glossy regions.<br/>
+ * The samples are taken in the order of a sample pattern, so a pattern whose prefixes are spread
+ * over the whole pixel (like {@link SamplePatterns#SOBOL} or {@link SamplePatterns#HALTON}) should be used.
+ * A sampler is not thread-safe - every rendering thread uses a sampler of its own.
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class VarianceSampler {
+
+    /**
+     * the amount of samples of a pixel before its error is estimated
+     */
+    static final int MIN_SAMPLES = 4;
+
+    /**
+     * the ray tracer of the sample rays
+     */
+    private final RayTracerBase rayTracer;
+
+    /**
+     * the generator of the sample rays
+     */
+    private final RayGenerator rayGenerator;
+
+    /**
+     * the pattern of the samples
+     */
+    private final SamplePattern pattern;
+
+    /**
+     * the maximal estimated error of the color of a pixel
+     */
+    private final double threshold;
+
+    /**
+     * the maximal amount of samples of a pixel
+     */
+    private final int maxSamples;
+
+    /**
+     * offsets of the samples of the current pixel
+     */
+    private final double[] offsets;
+
+    /**
+     * the amount of samples of the last sampled pixel
+     */
+    private int samples;
+
+    /**
+     * Constructor to initialize the sampler with the view plane of a camera
+     *
+     * @param rayTracer    the ray tracer of the sample rays
+     * @param rayGenerator the generator of the sample rays through the view plane
+     * @param pattern      the pattern of the samples
+     * @param threshold    the maximal estimated error of the color of a pixel
+     * @param maxSamples   the maximal amount of samples of a pixel
+     */
+    VarianceSampler(RayTracerBase rayTracer, RayGenerator rayGenerator, SamplePattern pattern,
+                    double threshold, int maxSamples) {
+        this.rayTracer = rayTracer;
+        this.rayGenerator = rayGenerator;
+        this.pattern = pattern;
+        this.threshold = threshold;
+        this.maxSamples = maxSamples;
+        offsets = new double[2 * maxSamples];
+    }
+
+    /**
+     * getter
+     *
+     * @return the amount of samples of the last sampled pixel
+     */
+    int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Calculates the color of a pixel by sampling it until its estimated error is small enough
+     *
+     * @param j the pixel's column
+     * @param i the pixel's row
+     * @return the color of the pixel - the mean of its samples
+     */
+    Color samplePixel(int j, int i) {
+        pattern.fill(maxSamples, (long) j << 32 | i, offsets);
+
+        // running means and sums of squared differences from the means
+        double meanR = 0, meanG = 0, meanB = 0;
+        double m2R = 0, m2G = 0, m2B = 0;
+        int n = 0;
+        while (n < maxSamples) {
+            Color color = rayTracer.traceRay(
+                    rayGenerator.ray(j + offsets[2 * n] - 0.5, i + offsets[2 * n + 1] - 0.5));
+            ++n;
+
+            double dR = color.getRed() - meanR, dG = color.getGreen() - meanG, dB = color.getBlue() - meanB;
+            meanR += dR / n;
+            meanG += dG / n;
+            meanB += dB / n;
+            m2R += dR * (color.getRed() - meanR);
+            m2G += dG * (color.getGreen() - meanG);
+            m2B += dB * (color.getBlue() - meanB);
+
+            // the squared error of a mean is the variance (m2 / (n - 1)) divided by n
+            if (n >= MIN_SAMPLES
+                    && Math.max(m2R, Math.max(m2G, m2B)) / ((n - 1) * (double) n) <= threshold * threshold)
+                break;
+        }
+        samples = n;
+        return new Color(meanR, meanG, meanB);
+    }
+}
@@ -48,6 +48,7 @@ public class Scene {
         this.ambientLight = builder.ambientLight;
         this.geometries = builder.geometries;
         this.lights = builder.lights;
+        this.geometries.setBoundingBoxEnabled(builder.boundingBoxes);
     }
 
 
@@ -63,6 +64,7 @@ public class Scene {
         private Geometries geometries = new Geometries();
         private AmbientLight ambientLight = AmbientLight.NONE;
         private Color background = Color.BLACK;
+        private boolean boundingBoxes = false;
 
         /**
          * private constructor that creates scene
@@ -108,6 +110,20 @@ public class Scene {
         }
 
 
+        /**
+         * Sets whether the geometries of the scene reject rays that miss their bounding boxes
+         * before the full intersection calculation.
+         * Unbounded geometries (planes, tubes) are always tested.
+         *
+         * @param boundingBoxes true to enable the bounding box test
+         * @return This sceneBuilder object with the updated flag.
+         */
+        public SceneBuilder setBoundingBoxes(boolean boundingBoxes) {
+            this.boundingBoxes = boundingBoxes;
+            return this;
+        }
+
+
         /**
          * Sets the lights in the sceneBuilder.
          *
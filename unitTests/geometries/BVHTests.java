@@ -0,0 +1,94 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for geometries.BVH class
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class BVHTests {
+
+    /**
+     * Creates the bounds of boxes along the x-axis, whose distances double from box to box,
+     * so most of the boxes are crowded in the first bin of every split
+     *
+     * @param count amount of boxes
+     * @return 6 bounds numbers per box
+     */
+    private static double[] skewedBounds(int count) {
+        double[] bounds = new double[6 * count];
+        for (int i = 0; i < count; ++i) {
+            double x = Math.pow(2, i);
+            bounds[6 * i] = x;
+            bounds[6 * i + 3] = x + 0.5;
+            bounds[6 * i + 4] = bounds[6 * i + 5] = 1;
+        }
+        return bounds;
+    }
+
+    /**
+     * Test method for {@link geometries.BVH#BVH(double[])}.
+     */
+    @Test
+    void testBVH() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a skewed distribution is split at the median below the depth of the heuristic
+        BVH bvh = new BVH(skewedBounds(1000));
+        assertTrue(bvh.getDepth() <= 48 + 11, "hierarchy is too deep: " + bvh.getDepth());
+
+        // =============== Boundary Values Tests ==================
+        // TC02: a single primitive
+        assertEquals(1, new BVH(new double[]{0, 0, 0, 1, 1, 1}).getDepth(), "wrong depth of a single leaf");
+    }
+
+    /**
+     * Test method for {@link geometries.BVH#traverse(primitives.Ray, double, geometries.BVH.Visitor)}.
+     */
+    @Test
+    void testTraverse() {
+        BVH outer = new BVH(skewedBounds(1000));
+        BVH inner = new BVH(skewedBounds(100));
+        Ray ray = new Ray(new Point(-1, 0.5, 0.5), new Vector(1, 0, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a ray along the boxes reaches all of them
+        boolean[] visited = new boolean[1000];
+        outer.traverse(ray, Double.POSITIVE_INFINITY, (primitive, max) -> {
+            visited[primitive] = true;
+            return max;
+        });
+        for (int i = 0; i < visited.length; ++i)
+            assertTrue(visited[i], "box " + i + " was not reached");
+
+        // TC02: traversals nested in the visitor of a traversal share the stack of the thread
+        int[] counts = new int[2];
+        outer.traverse(ray, Double.POSITIVE_INFINITY, (primitive, max) -> {
+            ++counts[0];
+            if (primitive % 100 == 0)
+                inner.traverse(ray, Double.POSITIVE_INFINITY, (p, m) -> {
+                    ++counts[1];
+                    return m;
+                });
+            return max;
+        });
+        assertEquals(1000, counts[0], "nested traversals changed the outer traversal");
+        assertEquals(10 * 100, counts[1], "wrong amount of nested visits");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: a ray that misses all the boxes
+        int[] missed = {0};
+        outer.traverse(new Ray(new Point(-1, 5, 0.5), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY,
+                (primitive, max) -> {
+                    ++missed[0];
+                    return max;
+                });
+        assertEquals(0, missed[0], "a ray out of the boxes reached a box");
+    }
+}
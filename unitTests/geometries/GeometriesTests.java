@@ -1,6 +1,8 @@
 package geometries;
 
 import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -8,6 +10,7 @@ import primitives.Vector;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 
@@ -56,4 +59,141 @@ class GeometriesTests {
         assertNull(geometry.findGeoIntersections(new Ray(new Point(0, 0, 110), new Vector(0, 1, -111)), 100),
                 "a far point is included in intersections");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Geometries#buildBVH()}.
+     */
+    @Test
+    void testBuildBVH() {
+        // a grid of spheres in the plane z=0 and an unbounded plane below them
+        Geometries flat = new Geometries();
+        Geometries compiled = new Geometries();
+        Plane floor = new Plane(new Point(0, 0, -5), new Vector(0, 0, 1));
+        flat.add(floor);
+        compiled.add(floor);
+        for (int i = 0; i < 10; ++i)
+            for (int j = 0; j < 10; ++j) {
+                Sphere s = new Sphere(new Point(3 * i, 3 * j, 0), 1);
+                flat.add(s);
+                compiled.add(s);
+            }
+        compiled.buildBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: ray along a row of spheres hits all of them and the plane
+        Ray ray = new Ray(new Point(-5, 3, 0.5), new Vector(1, 0, -0.01));
+        assertEquals(flat.findIntersections(ray).size(), compiled.findIntersections(ray).size(),
+                "hierarchy changed the intersections along a row");
+        assertEquals(21, compiled.findIntersections(ray).size(), "wrong number of intersection points");
+
+        // TC02: ray between the spheres hits only the plane
+        List<Point> result = compiled.findIntersections(new Ray(new Point(1.5, 1.5, 5), new Vector(0, 0, -1)));
+        assertEquals(List.of(new Point(1.5, 1.5, -5)), result, "ray between the spheres must hit only the plane");
+
+        // TC03: ray from inside the bounds with a maximum distance
+        ray = new Ray(new Point(12, 12, 5), new Vector(0, 0, -1));
+        assertEquals(2, compiled.findGeoIntersections(ray, 7).size(), "wrong intersections before max distance");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: the box of the collection encloses all the spheres
+        assertNull(compiled.getBoundingBox(), "a collection with a plane is unbounded");
+        Geometries spheres = new Geometries(new Sphere(new Point(0, 0, 0), 1), new Sphere(new Point(5, 0, 0), 2))
+                .buildBVH();
+        assertNotNull(spheres.getBoundingBox(), "a collection of spheres is bounded");
+        assertEquals(new Point(7, 2, 2), spheres.getBoundingBox().getMax(), "wrong box of the collection");
+
+        // TC05: ray misses the whole collection
+        assertNull(spheres.findIntersections(new Ray(new Point(0, 10, 0), new Vector(1, 0, 0))),
+                "ray outside the box must not intersect");
+
+        // TC06: a nested collection that grows after its parent was built
+        Geometries child = new Geometries(new Sphere(new Point(0, 0, 0), 1));
+        Geometries parent = new Geometries(child, new Sphere(new Point(5, 0, 0), 1)).buildBVH();
+        child.add(new Sphere(new Point(0, 10, 0), 1));
+        assertEquals(new Point(6, 11, 1), parent.getBoundingBox().getMax(), "parent box must enclose the new geometry");
+        assertEquals(2, parent.findIntersections(new Ray(new Point(-5, 10, 0), new Vector(1, 0, 0))).size(),
+                "parent hierarchy must reach the new geometry");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#setBoundingBoxEnabled(boolean)}.
+     */
+    @Test
+    void testBoundingBoxEnabled() {
+        Geometries boxed = new Geometries(sphere, triangle, plane).setBoundingBoxEnabled(true);
+        Cylinder cylinder = new Cylinder(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1, 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the box test doesn't change the intersections of rays that hit the boxes
+        Ray ray = new Ray(new Point(-2, 0, -3), new Vector(6, 1, 6));
+        assertEquals(geometry.findIntersections(ray), boxed.findIntersections(ray),
+                "bounding box test changed the intersections");
+
+        // TC02: the unbounded plane is still tested for a ray that misses all the boxes
+        assertEquals(1, boxed.findIntersections(new Ray(new Point(5, 20, 5), new Vector(0, -1, 0))).size(),
+                "unbounded geometry must always be tested");
+
+        // TC03: the box of a finite cylinder encloses its bases
+        assertEquals(new Point(1, 1, 2), cylinder.getBoundingBox().getMax(), "wrong box of cylinder");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: geometries added after enabling the test inherit the flag
+        Sphere far = new Sphere(new Point(100, 0, 0), 1);
+        boxed.add(far);
+        assertNull(far.findGeoIntersections(new Ray(new Point(0, 5, 0), new Vector(1, 0, 0))),
+                "ray that misses the box must be rejected");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#findClosestGeoIntersection(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Ray ray = new Ray(new Point(-2, 0, -3), new Vector(6, 1, 6));
+        Geometries compiled = new Geometries(sphere, triangle, plane).buildBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest hit is the closest of all the intersections
+        Point expected = ray.findClosestPoint(geometry.findIntersections(ray));
+        assertEquals(expected, geometry.findClosestGeoIntersection(ray).point, "wrong closest intersection");
+
+        // TC02: the hierarchy finds the same closest hit
+        assertEquals(expected, compiled.findClosestGeoIntersection(ray).point,
+                "wrong closest intersection with hierarchy");
+
+        // TC03: ray starts inside the sphere - the exit point is the closest
+        Ray inside = new Ray(new Point(1, 0, 0.5), new Vector(0, 0, 1));
+        assertEquals(new Point(1, 0, 1), sphere.findClosestGeoIntersection(inside).point,
+                "wrong closest intersection from inside the sphere");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: all the intersections are beyond the maximum distance
+        assertNull(compiled.findClosestGeoIntersection(ray, 0.5), "a far point is the closest intersection");
+
+        // TC05: ray misses everything
+        assertNull(geometry.findClosestGeoIntersection(new Ray(new Point(1, -2, 0.5), new Vector(-5, 0, -0.5))),
+                "ray does not intersect any geometry");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#calcTransparency(primitives.Ray, double)}.
+     */
+    @Test
+    void testCalcTransparency() {
+        Sphere glass = (Sphere) new Sphere(new Point(0, 0, 5), 1).setMaterial(new Material().setKt(0.5));
+        Sphere wall = new Sphere(new Point(0, 0, 10), 1);
+        Geometries occluders = new Geometries(glass, wall);
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray passes through the transparent sphere only (two intersections)
+        assertEquals(new Double3(0.25), occluders.calcTransparency(ray, 8), "wrong transparency of transparent occluder");
+
+        // TC02: an opaque occluder blocks the ray completely
+        assertEquals(Double3.ZERO, occluders.buildBVH().calcTransparency(ray, 20), "opaque occluder must block the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: nothing between the point and the light
+        assertEquals(Double3.ONE, occluders.calcTransparency(ray, 3), "nothing blocks the ray");
+    }
+}
@@ -0,0 +1,122 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing Mesh
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class MeshTests {
+
+    /**
+     * a unit square in the plane z=0, made of two faces sharing the diagonal
+     */
+    private final Mesh square = new Mesh(
+            new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0},
+            new int[]{0, 1, 2, 0, 2, 3});
+
+    /**
+     * Test method for {@link geometries.Mesh#Mesh(double[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: correct mesh
+        assertEquals(2, square.getFaceCount(), "wrong amount of faces");
+        assertEquals(4, square.getVertexCount(), "wrong amount of vertices");
+
+        // TC02: coordinates are not triads
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0, 1}, new int[]{0, 0, 0}),
+                "Constructed a mesh with a partial vertex");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: face refers to a missing vertex
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0}, new int[]{0, 0, 1}),
+                "Constructed a mesh with a missing vertex");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#getNormal(primitives.Point)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: point inside one of the faces
+        assertEquals(new Vector(0, 0, 1), square.getNormal(new Point(0.7, 0.2, 0)), "wrong normal of mesh");
+
+        // TC02: the geometry of an intersection is the face with the same normal
+        Intersectable.GeoPoint gp = square.findClosestGeoIntersection(
+                new Ray(new Point(0.2, 0.7, 1), new Vector(0, 0, -1)));
+        assertEquals(new Vector(0, 0, 1), gp.geometry.getNormal(gp.point), "wrong normal of intersected face");
+
+        // TC03: point out of the mesh
+        assertThrows(IllegalArgumentException.class, () -> square.getNormal(new Point(2, 2, 0)),
+                "point out of the mesh must throw");
+
+        // TC04: point above a face
+        assertThrows(IllegalArgumentException.class, () -> square.getNormal(new Point(0.7, 0.2, 1)),
+                "point off the plane of the mesh must throw");
+
+        // =============== Boundary Values Tests ==================
+        // TC05: point on the edge between the faces
+        assertEquals(new Vector(0, 0, 1), square.getNormal(new Point(0.5, 0.5, 0)), "wrong normal on an edge");
+
+        // TC06: point on a vertex
+        assertEquals(new Vector(0, 0, 1), square.getNormal(new Point(1, 1, 0)), "wrong normal on a vertex");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findIntersections(primitives.Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: ray hits one face
+        assertEquals(List.of(new Point(0.7, 0.2, 0)),
+                square.findIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1))),
+                "wrong intersection of mesh");
+
+        // TC02: ray misses the mesh
+        assertNull(square.findIntersections(new Ray(new Point(2, 2, 1), new Vector(0, 0, -1))),
+                "ray outside the mesh must not intersect");
+
+        // TC03: the closest of two meshes is found
+        Mesh far = new Mesh(new double[]{0, 0, -1, 1, 0, -1, 0, 1, -1}, new int[]{0, 1, 2});
+        Geometries geometries = new Geometries(far, square);
+        assertEquals(new Point(0.3, 0.1, 0),
+                geometries.findClosestGeoIntersection(new Ray(new Point(0.3, 0.1, 1), new Vector(0, 0, -1))).point,
+                "wrong closest intersection of meshes");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: ray through the shared diagonal is not counted by either face
+        assertNull(square.findIntersections(new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1))),
+                "intersection on the edge of a face");
+
+        // TC05: intersection beyond the maximum distance
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1)), 0.5),
+                "a far intersection Point is included in intersections");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#calcTransparency(primitives.Ray, double)}.
+     */
+    @Test
+    void testCalcTransparency() {
+        Ray ray = new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the faces share the material of the mesh
+        Mesh glass = (Mesh) new Mesh(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0}, new int[]{0, 1, 2})
+                .setMaterial(new Material().setKt(0.5));
+        assertEquals(new Double3(0.5), glass.calcTransparency(ray, 2), "wrong transparency of mesh");
+
+        // TC02: an opaque mesh blocks the ray
+        assertEquals(Double3.ZERO, square.calcTransparency(ray, 2), "opaque mesh must block the ray");
+    }
+}
@@ -86,6 +86,66 @@ class TriangleTests {
                 "intersection point is on the continuation of one of the sides");
     }
 
+    /**
+     * Intersects a vertical ray from a point above the plane z=0 with {@link #triangle}
+     *
+     * @param x           x coordinate of the ray's base point
+     * @param y           y coordinate of the ray's base point
+     * @param maxDistance the maximum distance to consider for the intersection
+     * @return the distance of the intersection along the ray, or 0 if there is no intersection
+     */
+    private static double intersectDown(double x, double y, double maxDistance) {
+        return Triangle.intersect(x, y, 1, 0, 0, -1, 0, 2, 0, 2, -2, 0, -2, -2, 0, maxDistance);
+    }
+
+    /**
+     * Test method for
+     * {@link geometries.Triangle#intersect(double, double, double, double, double, double, double, double, double,
+     * double, double, double, double, double, double, double)}.
+     */
+    @Test
+    void testIntersect() {
+        double inf = Double.POSITIVE_INFINITY;
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray hits the inside of the triangle
+        assertEquals(1, intersectDown(0, 1, inf), 1e-12, "wrong distance of intersection");
+
+        // TC02: the ray misses the triangle
+        assertEquals(0, intersectDown(0, -1, inf), "ray out of the triangle must miss it");
+
+        // TC03: the ray starts below the triangle
+        assertEquals(0, Triangle.intersect(0, 1, -1, 0, 0, -1, 0, 2, 0, 2, -2, 0, -2, -2, 0, inf),
+                "triangle behind the ray must be missed");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: hits exactly on every edge are not counted
+        assertEquals(0, intersectDown(0, 0, inf), "hit on the edge between the 2nd and 3rd vertices");
+        assertEquals(0, intersectDown(1, 1, inf), "hit on the edge between the 1st and 2nd vertices");
+        assertEquals(0, intersectDown(-1, 1, inf), "hit on the edge between the 1st and 3rd vertices");
+
+        // TC05: hits exactly on every vertex are not counted
+        assertEquals(0, intersectDown(0, 2, inf), "hit on the 1st vertex");
+        assertEquals(0, intersectDown(2, 0, inf), "hit on the 2nd vertex");
+        assertEquals(0, intersectDown(-2, 0, inf), "hit on the 3rd vertex");
+
+        // TC06: a hit inside the edge within the zero tolerance is on the edge
+        assertEquals(0, intersectDown(0, 1e-14, inf), "hit within the tolerance of the edge");
+
+        // TC07: a hit inside the edge beyond the zero tolerance is counted
+        assertEquals(1, intersectDown(0, 1e-9, inf), 1e-12, "hit beyond the tolerance of the edge");
+
+        // TC08: the maximum distance excludes an intersection at it or within the tolerance before it
+        assertEquals(0, intersectDown(0, 1, 1), "intersection at the maximum distance");
+        assertEquals(0, intersectDown(0, 1, 1 + 1e-14), "intersection within the tolerance of the maximum distance");
+        assertEquals(0, intersectDown(0, 1, 0.999), "intersection beyond the maximum distance");
+        assertEquals(1, intersectDown(0, 1, 1.001), 1e-12, "intersection before the maximum distance");
+
+        // TC09: a ray parallel to the triangle's plane
+        assertEquals(0, Triangle.intersect(0, 1, 0, 1, 0, 0, 0, 2, 0, 2, -2, 0, -2, -2, 0, inf),
+                "ray in the plane of the triangle must miss it");
+    }
+
     /**
      * Test method for {@link geometries.Triangle#findGeoIntersections(primitives.Ray, double)}.
      */
@@ -0,0 +1,41 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for primitives.Color class
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class ColorTests {
+
+    Color c = new Color(100, 100, 100);
+
+    /**
+     * Test method for {@link primitives.Color#almostEquals(primitives.Color)}.
+     */
+    @Test
+    void testAlmostEquals() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: close colors
+        assertTrue(c.almostEquals(new Color(104, 97, 102)), "close colors must be almost equal");
+
+        // TC02: far colors
+        assertFalse(c.almostEquals(new Color(150, 100, 100)), "far colors must not be almost equal");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: every component differs by exactly 10
+        assertTrue(c.almostEquals(new Color(110, 90, 110)), "difference of 10 must be almost equal");
+
+        // TC04: a single component differs by 11
+        assertFalse(c.almostEquals(new Color(111, 100, 100)), "red difference of 11 must not be almost equal");
+        assertFalse(c.almostEquals(new Color(100, 89, 100)), "green difference of 11 must not be almost equal");
+        assertFalse(c.almostEquals(new Color(100, 100, 111)), "blue difference of 11 must not be almost equal");
+
+        // TC05: components above 255 are clamped before they are compared
+        assertTrue(new Color(255, 0, 0).almostEquals(new Color(400, 0, 0)), "clamped colors must be almost equal");
+    }
+}
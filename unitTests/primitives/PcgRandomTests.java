@@ -0,0 +1,99 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.PcgRandom class
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class PcgRandomTests {
+
+    /**
+     * Test method for {@link primitives.PcgRandom#reseed(long, long)}.
+     */
+    @Test
+    void testReseed() {
+        PcgRandom random = new PcgRandom(7, 3);
+        int[] sequence = new int[10];
+        for (int i = 0; i < sequence.length; ++i)
+            sequence[i] = random.nextInt();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the same seed and stream give the same sequence
+        random.reseed(7, 3);
+        for (int value : sequence)
+            assertEquals(value, random.nextInt(), "reseeded generator must repeat its sequence");
+
+        // TC02: another stream gives another sequence
+        random.reseed(7, 4);
+        int equal = 0;
+        for (int value : sequence)
+            if (value == random.nextInt()) ++equal;
+        assertEquals(0, equal, "other stream must give another sequence");
+
+        // TC03: another seed gives another sequence
+        random.reseed(8, 3);
+        equal = 0;
+        for (int value : sequence)
+            if (value == random.nextInt()) ++equal;
+        assertEquals(0, equal, "other seed must give another sequence");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: the generators of different threads are different objects
+        PcgRandom[] other = new PcgRandom[1];
+        Thread thread = new Thread(() -> other[0] = PcgRandom.current());
+        thread.start();
+        assertDoesNotThrow(() -> thread.join());
+        assertSame(PcgRandom.current(), PcgRandom.current(), "thread must keep its generator");
+        assertNotSame(PcgRandom.current(), other[0], "threads must not share a generator");
+    }
+
+    /**
+     * Test method for {@link primitives.PcgRandom#nextDouble(double, double)}.
+     */
+    @Test
+    void testNextDouble() {
+        PcgRandom random = new PcgRandom(1, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the numbers are in the range and cover it evenly
+        int[] buckets = new int[10];
+        for (int i = 0; i < 100000; ++i) {
+            double value = random.nextDouble(-5, 5);
+            assertTrue(value >= -5 && value < 5, "number out of range");
+            ++buckets[(int) (value + 5)];
+        }
+        for (int bucket : buckets)
+            assertEquals(10000, bucket, 500, "numbers are not uniform");
+
+        // =============== Boundary Values Tests ==================
+        // TC02: an empty range gives its start
+        assertEquals(3, random.nextDouble(3, 3), "wrong number of empty range");
+    }
+
+    /**
+     * Test method for {@link primitives.PcgRandom#nextInt(int)}.
+     */
+    @Test
+    void testNextInt() {
+        PcgRandom random = new PcgRandom(2, 5);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the numbers are in the range and cover it evenly
+        int[] counts = new int[6];
+        for (int i = 0; i < 60000; ++i)
+            ++counts[random.nextInt(6)];
+        for (int count : counts)
+            assertEquals(10000, count, 500, "numbers are not uniform");
+
+        // =============== Boundary Values Tests ==================
+        // TC02: a bound of one gives zero
+        assertEquals(0, random.nextInt(1), "wrong number of bound 1");
+
+        // TC03: a bound that is not positive is not allowed
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0), "bound 0 must not be allowed");
+    }
+}
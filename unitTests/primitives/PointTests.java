@@ -37,7 +37,7 @@ class PointTests {
     void testSubtract() {
         // ============ Equivalence Partitions Tests ==============
         // TC01: Simple test
-        assertEquals(new Vector(p.xyz), new Point(2, 3, 4).subtract(new Point(1, 2, 3)), //
+        assertEquals(new Vector(p.x, p.y, p.z), new Point(2, 3, 4).subtract(new Point(1, 2, 3)), //
                 "Wrong point subtract");
 
         // =============== Boundary Values Tests ==================
@@ -1,11 +1,29 @@
 package renderer;
 
+import geometries.Mesh;
+import geometries.Plane;
+import geometries.Sphere;
+import lighting.DirectionalLight;
 import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Util;
 import primitives.Vector;
+import scene.Scene;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Testing Camera Class
@@ -57,4 +75,551 @@ class CameraTest {
 
     }
 
+    /**
+     * Test method for
+     * {@link renderer.Camera#renderImage(renderer.RenderToken)}.
+     */
+    @Test
+    void testRenderImageToken() {
+        Camera camera = camera(glowScene(), 40, 40).setTileSize(8).setMultithreading(2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: rendering that is not stopped is completed
+        RenderToken token = new RenderToken();
+        camera.renderImage(token);
+        assertTrue(token.isCompleted(), "rendering without cancellation must be completed");
+
+        // TC02: cancelled rendering renders nothing
+        token = new RenderToken();
+        token.cancel();
+        camera.renderImage(token);
+        assertEquals(0, token.getCompleted(), "cancelled rendering must not render tiles");
+
+        // TC03: cancelled progressive rendering renders no pass
+        token = new RenderToken();
+        token.cancel();
+        camera.setSuperSampling(2).setProgressive(true, false).renderImage(token);
+        assertEquals(0, token.getCompleted(), "cancelled progressive rendering must not render passes");
+
+        // TC04: progressive rendering that is not stopped is completed
+        token = new RenderToken();
+        camera.renderImage(token);
+        assertTrue(token.isCompleted(), "progressive rendering without cancellation must be completed");
+
+        // =============== Boundary Values Tests ==================
+        // TC05: time budget must be positive
+        assertThrows(IllegalArgumentException.class, () -> new RenderToken(0), "zero time budget must throw");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setVarianceSampling(double, int)}.
+     */
+    @Test
+    void testVarianceSampling() {
+        Camera camera = camera(glowScene(), 20, 20).setVarianceSampling(1, 64);
+        camera.renderImage();
+        FrameBuffer frameBuffer = camera.getFrameBuffer();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: flat background stops after the minimal amount of samples
+        assertEquals(VarianceSampler.MIN_SAMPLES, frameBuffer.getSamples(0, 0), "wrong samples of background");
+        assertEquals(0, frameBuffer.getPixel(0, 0).getRed(), 1e-10, "wrong color of background");
+
+        // TC02: flat inside of the sphere stops after the minimal amount of samples
+        assertEquals(VarianceSampler.MIN_SAMPLES, frameBuffer.getSamples(10, 10), "wrong samples of sphere");
+        assertEquals(200, frameBuffer.getPixel(10, 10).getRed(), 1e-10, "wrong color of sphere");
+
+        // TC03: the edge of the sphere gets the maximal amount of samples
+        int max = 0;
+        for (int x = 0; x < 20; ++x)
+            max = Math.max(max, frameBuffer.getSamples(x, 10));
+        assertEquals(64, max, "edge of the sphere must get the maximal amount of samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: too few samples
+        assertThrows(IllegalArgumentException.class, () -> camera.setVarianceSampling(1, 2),
+                "too few samples must throw");
+
+        // TC05: negative threshold
+        assertThrows(IllegalArgumentException.class, () -> camera.setVarianceSampling(-1, 64),
+                "negative threshold must throw");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setAdaptive(boolean)}.
+     */
+    @Test
+    void testAdaptive() {
+        Scene scene = new Scene.SceneBuilder("Flat scene").build();
+        scene.geometries.add(new Plane(new Point(0, 0, -100), new Vector(0, 0, 1)).setEmission(new Color(200, 100, 0)));
+        Camera camera = camera(scene, 20, 20).setTileSize(5).setSuperSampling(3);
+        FrameBuffer grid = camera.renderImage().getFrameBuffer();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a flat region of 9 rays per pixel casts only the corner rays of its pixels,
+        // which adjacent pixels of a tile share
+        RenderStats stats = camera.setSuperSampling(9).setAdaptive(true).setStatistics(true)
+                .renderImage().getRenderStats();
+        assertEquals(16 * 6 * 6, stats.getPrimaryRays(), "flat pixels must cast only their 4 corner rays");
+
+        // TC02: the flat region has the color of the grid
+        FrameBuffer adaptive = camera.getFrameBuffer();
+        for (int y = 0; y < 20; ++y)
+            for (int x = 0; x < 20; ++x) {
+                Color expected = grid.getPixel(x, y), actual = adaptive.getPixel(x, y);
+                assertEquals(expected.getRed(), actual.getRed(), 1e-9, "adaptive color differs from the grid");
+                assertEquals(expected.getGreen(), actual.getGreen(), 1e-9, "adaptive color differs from the grid");
+                assertEquals(expected.getBlue(), actual.getBlue(), 1e-9, "adaptive color differs from the grid");
+            }
+        assertEquals(200, adaptive.getPixel(10, 10).getRed(), 1e-9, "wrong color of the flat region");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setEdgeAntiAliasing(boolean)}.
+     */
+    @Test
+    void testEdgeAntiAliasing() {
+        Camera camera = camera(glowScene(), 20, 20) //
+                .setSuperSampling(4).setSamplePattern(SamplePatterns.GRID).setEdgeAntiAliasing(true) //
+                .setMultithreading(2);
+        camera.renderImage();
+        FrameBuffer frameBuffer = camera.getFrameBuffer();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: only a part of the pixels is super-sampled
+        assertTrue(camera.getEdgePixels() > 0 && camera.getEdgePixels() < 200, "wrong amount of edge pixels");
+
+        // TC02: pixel on the edge of the sphere is super-sampled
+        double red = frameBuffer.getPixel(15, 10).getRed();
+        assertTrue(red > 0 && red < 200, "edge pixel must be anti-aliased");
+
+        // TC03: flat pixels keep the color of their first ray
+        assertEquals(200, frameBuffer.getPixel(10, 10).getRed(), 1e-10, "wrong color inside the sphere");
+        assertEquals(0, frameBuffer.getPixel(0, 0).getRed(), 1e-10, "wrong color of background");
+
+        // TC04: the faces of a flat mesh are a single surface - only the pixels around its outline are edges
+        Scene quad = new Scene.SceneBuilder("Quad scene").build();
+        // the diagonal between the faces is y = x + 2, which passes through no center of a pixel
+        quad.geometries.add(new Mesh(new double[]{-55, -53, -100, 55, -53, -100, 55, 57, -100, -55, 57, -100},
+                new int[]{0, 1, 2, 0, 2, 3}).setEmission(new Color(200, 100, 0)));
+        camera.setRayTracer(new RayTracerBasic(quad)).renderImage();
+        // the quad covers 10 x 11 pixel centers: its 38 border pixels and the 42 pixels next to its sides
+        assertEquals(80, camera.getEdgePixels(), "only the outline of a mesh must be an edge");
+
+        // =============== Boundary Values Tests ==================
+        // TC05: without super-sampling the mode is not used
+        camera.setRayTracer(new RayTracerBasic(glowScene())).setSuperSampling(0).renderImage();
+        assertEquals(200, camera.getFrameBuffer().getPixel(10, 10).getRed(), 1e-10, "wrong color without AA");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#getRenderStats()}.
+     */
+    @Test
+    void testRenderStats() {
+        Scene scene = glowScene();
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 100), new Vector(0, 0, -1)));
+        Camera camera = camera(scene, 20, 20).setTileSize(8).setMultithreading(2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: rendering without statistics has no report
+        camera.renderImage();
+        assertNull(camera.getRenderStats(), "rendering without statistics must not have a report");
+
+        // TC02: the counters of all the threads are summed
+        RenderStats stats = camera.setStatistics(true).renderImage().getRenderStats();
+        assertEquals(400, stats.getPrimaryRays(), "wrong amount of primary rays");
+        assertTrue(stats.getShadowRays() > 0 && stats.getShadowRays() < 400, "wrong amount of shadow rays");
+        assertEquals(0, stats.getReflectionRays() + stats.getRefractionRays(), "wrong amount of secondary rays");
+        assertEquals(400 + stats.getShadowRays(), stats.getIntersectionTests().get("Sphere"),
+                "wrong amount of sphere tests");
+        assertEquals(9, LongStream.of(stats.getTileHistogram()).sum(), "wrong amount of tiles");
+        assertFalse(stats.getBusyTimes().isEmpty(), "missing busy time of the threads");
+        assertTrue(stats.getRaysPerSecond() > 0, "wrong rate of rays");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: a second rendering starts with zero counters
+        stats = camera.renderImage().getRenderStats();
+        assertEquals(400, stats.getPrimaryRays(), "counters must be zeroed between renderings");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#getRenderStats()} of cameras that render at the same time.
+     */
+    @Test
+    void testRenderStatsConcurrent() {
+        Scene scene = glowScene();
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 100), new Vector(0, 0, -1)));
+        Camera[] cameras = new Camera[3];
+        for (int c = 0; c < cameras.length; ++c)
+            cameras[c] = camera(scene, 40 + 10 * c, 40 + 10 * c).setTileSize(4).setMultithreading(2);
+        // the third camera renders at the same time without statistics
+        cameras[0].setStatistics(true);
+        cameras[1].setStatistics(true);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: every camera counts only its own rays, in every round of renderings at the same time
+        for (int round = 0; round < 5; ++round) {
+            Thread[] threads = new Thread[cameras.length];
+            for (int c = 0; c < cameras.length; ++c) {
+                Camera camera = cameras[c];
+                threads[c] = new Thread(camera::renderImage);
+                threads[c].start();
+            }
+            for (Thread thread : threads)
+                assertDoesNotThrow(() -> thread.join());
+            for (int c = 0; c < 2; ++c) {
+                RenderStats stats = cameras[c].getRenderStats();
+                int pixels = (40 + 10 * c) * (40 + 10 * c);
+                assertEquals(pixels, stats.getPrimaryRays(), "wrong amount of primary rays of camera " + c);
+                assertEquals(pixels + stats.getShadowRays(), stats.getIntersectionTests().get("Sphere"),
+                        "wrong amount of sphere tests of camera " + c);
+            }
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC02: a camera without statistics has no report
+        assertNull(cameras[2].getRenderStats(), "rendering without statistics must not have a report");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setMultithreading(int)} and {@link renderer.Camera#setTileSize(int)}.
+     */
+    @Test
+    void testMultithreading() {
+        // a non-square image whose size is not a multiple of the tile size
+        FrameBuffer single = camera(sphereScene(), 37, 23).setTileSize(5).renderImage().getFrameBuffer();
+        Camera camera = camera(sphereScene(), 37, 23).setTileSize(5).setMultithreading(3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the threads render the same image as a single thread
+        assertTrue(sameImage(single, camera.renderImage().getFrameBuffer()),
+                "multi-threaded image must equal the single-threaded one");
+
+        // =============== Boundary Values Tests ==================
+        // TC02: a second rendering of the same camera uses its threads again
+        assertTrue(sameImage(single, camera.renderImage().getFrameBuffer()),
+                "second multi-threaded rendering must equal the single-threaded one");
+
+        // TC03: the image is not uniform, so the comparison is meaningful
+        assertNotEquals(single.getPixel(0, 0).getRed(), single.getPixel(18, 11).getRed(),
+                "the image must not be uniform");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setForkJoinPool(ForkJoinPool)}.
+     */
+    @Test
+    void testForkJoinPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: the pool renders the same image as a single thread
+            FrameBuffer single = camera(sphereScene(), 37, 23).setTileSize(8).renderImage().getFrameBuffer();
+            Camera camera = camera(sphereScene(), 37, 23).setTileSize(8).setForkJoinPool(pool);
+            assertTrue(sameImage(single, camera.renderImage().getFrameBuffer()),
+                    "fork-join image must equal the single-threaded one");
+
+            // =============== Boundary Values Tests ==================
+            // TC02: odd regions are split down to single pixels
+            camera.setTileSize(1);
+            assertTrue(sameImage(single, camera.renderImage().getFrameBuffer()),
+                    "fork-join image of single pixel regions must equal the single-threaded one");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setProgressive(boolean, boolean)}.
+     */
+    @Test
+    void testProgressive() {
+        Camera camera = camera(sphereScene(), 37, 23).setTileSize(5).setSuperSampling(3).setMultithreading(2);
+        FrameBuffer beam = camera.renderImage().getFrameBuffer();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the passes end with the image of the beam of the same grid
+        FrameBuffer progressive = camera.setProgressive(true, false).renderImage().getFrameBuffer();
+        for (int y = 0; y < 23; ++y)
+            for (int x = 0; x < 37; ++x) {
+                assertEquals(9, progressive.getSamples(x, y), "every pixel must have all the samples of the beam");
+                Color expected = beam.getPixel(x, y), actual = progressive.getPixel(x, y);
+                assertEquals(expected.getRed(), actual.getRed(), 1e-9, "progressive image differs from the beam");
+                assertEquals(expected.getGreen(), actual.getGreen(), 1e-9, "progressive image differs from the beam");
+                assertEquals(expected.getBlue(), actual.getBlue(), 1e-9, "progressive image differs from the beam");
+            }
+
+        // =============== Boundary Values Tests ==================
+        // TC02: a rendering stopped after the first pass keeps the colors of the first pass
+        RenderToken token = new RenderToken();
+        RayTracerBase sphere = new RayTracerBasic(sphereScene());
+        AtomicLong traced = new AtomicLong();
+        RayTracerBase stopping = tracer(ray -> {
+            // the first pass casts a single ray through every pixel
+            if (traced.incrementAndGet() == 37 * 23)
+                token.cancel();
+            return sphere.traceRay(ray);
+        });
+        camera = camera(sphereScene(), 37, 23).setSuperSampling(3).setProgressive(true, false).setRayTracer(stopping);
+        FrameBuffer firstPass = camera.renderImage(token).getFrameBuffer();
+        assertEquals(1 / 9d, token.getCompleted(), 1e-10, "only the first pass must be rendered");
+        for (int y = 0; y < 23; ++y)
+            for (int x = 0; x < 37; ++x)
+                assertEquals(1, firstPass.getSamples(x, y), "every pixel must have the sample of the first pass");
+        assertTrue(firstPass.getPixel(18, 11).getRed() > 0, "first pass colors must not be black");
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setExecutor(ExecutorService, int)}.
+     */
+    @Test
+    void testExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: the tasks render the same image as a single thread
+            FrameBuffer single = camera(sphereScene(), 37, 23).setTileSize(5).renderImage().getFrameBuffer();
+            Camera camera = camera(sphereScene(), 37, 23).setTileSize(5).setExecutor(executor, 3);
+            assertTrue(sameImage(single, camera.renderImage().getFrameBuffer()),
+                    "executor image must equal the single-threaded one");
+
+            // TC02: the failure of a task reaches the caller
+            RayTracerBase broken = tracer(ray -> {
+                throw new UnsupportedOperationException("broken tracer");
+            });
+            camera.setRayTracer(broken);
+            UnsupportedOperationException failure =
+                    assertThrows(UnsupportedOperationException.class, camera::renderImage,
+                            "failure of a task must reach the caller");
+            assertEquals("broken tracer", failure.getMessage(), "wrong failure");
+
+            // =============== Boundary Values Tests ==================
+            // TC03: parallelism must be positive
+            assertThrows(IllegalArgumentException.class, () -> camera.setExecutor(executor, 0),
+                    "zero parallelism must not be allowed");
+            assertThrows(IllegalArgumentException.class, () -> camera.setExecutor(executor, -1),
+                    "negative parallelism must not be allowed");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setExecutor(ExecutorService, int)} when the rendering is interrupted.
+     */
+    @Test
+    void testExecutorInterrupt() throws InterruptedException {
+        AtomicLong traced = new AtomicLong();
+        CountDownLatch tracing = new CountDownLatch(1);
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicBoolean stuck = new AtomicBoolean();
+        // every ray waits until its task is cancelled, so no tile is done before the rendering is interrupted
+        RayTracerBase blocking = tracer(ray -> {
+            traced.incrementAndGet();
+            tracing.countDown();
+            try {
+                if (!stuck.get() && !never.await(10, TimeUnit.SECONDS))
+                    stuck.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Color(10, 20, 30);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Camera camera = camera(blocking, 40, 40).setTileSize(4).setExecutor(executor, 3);
+            Thread renderer = new Thread(camera::renderImage);
+            renderer.start();
+            // the rendering is interrupted while a task is inside a tile
+            tracing.await();
+            renderer.interrupt();
+            renderer.join();
+            long afterRendering = traced.get();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "the tasks must finish");
+
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: every task stopped after the tile it was inside
+            assertFalse(stuck.get(), "the interrupt must cancel the tasks");
+            assertTrue(afterRendering <= 3 * 16, "interrupted rendering must stop after the current tiles");
+
+            // TC02: no task traces rays after the rendering returned
+            assertEquals(afterRendering, traced.get(), "tasks must finish before the rendering returns");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#renderImage(RenderToken)} of a camera that renders several images at once.
+     */
+    @Test
+    void testConcurrentRenderings() {
+        FrameBuffer single = camera(sphereScene(), 37, 23).setTileSize(5).setSuperSampling(2) //
+                .renderImage().getFrameBuffer();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Camera camera = camera(sphereScene(), 37, 23).setTileSize(5).setSuperSampling(2).setExecutor(executor, 2);
+
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: renderings of the same camera at the same time don't mix their tiles or their pixels
+            for (int round = 0; round < 5; ++round) {
+                Thread[] threads = new Thread[3];
+                RenderToken[] tokens = new RenderToken[threads.length];
+                FrameBuffer[] images = new FrameBuffer[threads.length];
+                for (int t = 0; t < threads.length; ++t) {
+                    int index = t;
+                    tokens[t] = new RenderToken();
+                    threads[t] = new Thread(() -> images[index] = camera.renderImage(tokens[index]).getFrameBuffer());
+                    threads[t].start();
+                }
+                for (int t = 0; t < threads.length; ++t) {
+                    Thread thread = threads[t];
+                    assertDoesNotThrow(() -> thread.join());
+                    assertEquals(1, tokens[t].getCompleted(), 1e-10, "every rendering must render the whole image");
+                    assertTrue(sameImage(single, images[t]),
+                            "concurrent rendering must equal the single-threaded one");
+                }
+            }
+
+            // =============== Boundary Values Tests ==================
+            // TC02: a rendering after the concurrent ones still renders the whole image
+            assertTrue(sameImage(single, camera.renderImage().getFrameBuffer()),
+                    "rendering after concurrent ones must equal the single-threaded one");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link renderer.Camera#setRandomSeed(long)}.
+     */
+    @Test
+    void testRandomSeed() {
+        // a tracer of random colors shows which random numbers every pixel got
+        RayTracerBase noise = tracer(ray -> new Color(Util.random(0, 255), Util.random(0, 255), Util.random(0, 255)));
+        Camera camera = camera(noise, 20, 20).setTileSize(4).setRandomSeed(5);
+        FrameBuffer single = camera.renderImage().getFrameBuffer();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the image doesn't depend on the amount of threads
+        assertTrue(sameImage(single, camera.setMultithreading(3).renderImage().getFrameBuffer()),
+                "image must not depend on the threads");
+
+        // TC02: stochastic super-sampling doesn't depend on the amount of threads
+        camera.setSuperSampling(3).setMultithreading(0);
+        FrameBuffer sampled = camera.renderImage().getFrameBuffer();
+        assertTrue(sameImage(sampled, camera.setMultithreading(4).renderImage().getFrameBuffer()),
+                "super-sampled image must not depend on the threads");
+
+        // TC03: another seed gives another image
+        camera.setSuperSampling(0).setRandomSeed(6);
+        assertFalse(sameImage(single, camera.renderImage().getFrameBuffer()), "other seed must change the image");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: pixels of the same image get different numbers
+        assertNotEquals(single.getPixel(0, 0).getRed(), single.getPixel(1, 0).getRed(),
+                "pixels must not share their random numbers");
+    }
+
+    /**
+     * Creates the camera of the rendering tests - it looks from the origin down the z-axis,
+     * 100 away from a view plane of height 200 whose pixels are square
+     *
+     * @param rayTracer the ray tracer of the camera
+     * @param nX        the amount of pixel columns
+     * @param nY        the amount of pixel rows
+     * @return the camera, without progress printing
+     */
+    private static Camera camera(RayTracerBase rayTracer, int nX, int nY) {
+        return new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0)) //
+                .setVPDistance(100).setVPSize(200 * nX / (double) nY, 200) //
+                .setImageWriter(new ImageWriter("camera", nX, nY)) //
+                .setRayTracer(rayTracer).setDebugPrint(0);
+    }
+
+    /**
+     * Creates the camera of the rendering tests for a scene
+     *
+     * @param scene the scene, traced by the basic ray tracer
+     * @param nX    the amount of pixel columns
+     * @param nY    the amount of pixel rows
+     * @return the camera, without progress printing
+     */
+    private static Camera camera(Scene scene, int nX, int nY) {
+        return camera(new RayTracerBasic(scene), nX, nY);
+    }
+
+    /**
+     * Creates a ray tracer of an empty scene, which colors a ray by a function
+     *
+     * @param trace the color of a ray
+     * @return the ray tracer
+     */
+    private static RayTracerBase tracer(Function<Ray, Color> trace) {
+        return new RayTracerBase(new Scene.SceneBuilder("Traced scene").build()) {
+            @Override
+            public Color traceRay(Ray ray) {
+                return trace.apply(ray);
+            }
+        };
+    }
+
+    /**
+     * Creates a scene of a lit sphere, whose image differs from pixel to pixel
+     *
+     * @return the scene
+     */
+    private static Scene sphereScene() {
+        Scene scene = new Scene.SceneBuilder("Sphere scene").build();
+        scene.geometries.add(new Sphere(new Point(10, -5, -100), 60d).setEmission(new Color(50, 30, 10))
+                .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(20)));
+        scene.lights.add(new DirectionalLight(new Color(200, 150, 100), new Vector(1, -1, -1)));
+        return scene;
+    }
+
+    /**
+     * Creates a scene of a glowing sphere in the middle of the image, of a flat color without lights
+     * - its edges are the only changes of the image
+     *
+     * @return the scene
+     */
+    private static Scene glowScene() {
+        Scene scene = new Scene.SceneBuilder("Glow scene").build();
+        scene.geometries.add(new Sphere(new Point(0, 0, -100), 50d).setEmission(new Color(200, 100, 0))
+                .setMaterial(new Material().setKd(0.5)));
+        return scene;
+    }
+
+    /**
+     * Checks whether two frame buffers of the same size have the same colors
+     *
+     * @param a first frame buffer
+     * @param b second frame buffer
+     * @return true if all the pixels have the same colors
+     */
+    private static boolean sameImage(FrameBuffer a, FrameBuffer b) {
+        if (a.getNx() != b.getNx() || a.getNy() != b.getNy())
+            return false;
+        for (int y = 0; y < a.getNy(); ++y)
+            for (int x = 0; x < a.getNx(); ++x) {
+                Color c1 = a.getPixel(x, y), c2 = b.getPixel(x, y);
+                if (c1.getRed() != c2.getRed() || c1.getGreen() != c2.getGreen() || c1.getBlue() != c2.getBlue())
+                    return false;
+            }
+        return true;
+    }
 }
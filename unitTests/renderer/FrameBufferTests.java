@@ -0,0 +1,122 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing FrameBuffer
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class FrameBufferTests {
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#addSample(int, int, primitives.Color)}.
+     */
+    @Test
+    void testAddSample() {
+        FrameBuffer frameBuffer = new FrameBuffer(2, 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the color of a pixel is the average of its samples
+        frameBuffer.addSample(1, 0, new Color(100, 300, 0));
+        frameBuffer.addSample(1, 0, new Color(200, 500, 50));
+        assertEquals(2, frameBuffer.getSamples(1, 0), "wrong amount of samples");
+        Color color = frameBuffer.getPixel(1, 0);
+        assertEquals(150, color.getRed(), 1e-10, "wrong red average");
+        assertEquals(400, color.getGreen(), 1e-10, "wrong green average");
+        assertEquals(25, color.getBlue(), 1e-10, "wrong blue average");
+
+        // TC02: setting a pixel replaces its samples
+        frameBuffer.setPixel(1, 0, new Color(10, 20, 30));
+        assertEquals(1, frameBuffer.getSamples(1, 0), "set pixel must have a single sample");
+        assertEquals(10, frameBuffer.getPixel(1, 0).getRed(), 1e-10, "wrong color of set pixel");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: pixel without samples is black
+        assertEquals(0, frameBuffer.getSamples(0, 1), "untouched pixel must have no samples");
+        assertEquals(0, frameBuffer.getPixel(0, 1).getRed(), "untouched pixel must be black");
+    }
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#resolveRows(int, int)}.
+     */
+    @Test
+    void testResolveRows() {
+        FrameBuffer frameBuffer = new FrameBuffer(2, 2);
+        frameBuffer.setPixel(0, 1, new Color(10.9, 300, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: components are truncated and clamped like java.awt colors of Color
+        assertArrayEquals(new int[]{0, 0, 10 << 16 | 255 << 8, 0}, frameBuffer.resolveRows(0, 2),
+                "wrong resolved colors");
+
+        // TC02: band of rows
+        assertArrayEquals(new int[]{10 << 16 | 255 << 8, 0}, frameBuffer.resolveRows(1, 2),
+                "wrong resolved band");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: image writer of another size
+        assertThrows(IllegalArgumentException.class, () -> frameBuffer.resolve(new ImageWriter("size", 3, 2)),
+                "resolve into an image of another size must throw");
+    }
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#writeToPfm(String)}.
+     */
+    @Test
+    void testWriteToPfm() throws IOException {
+        FrameBuffer frameBuffer = new FrameBuffer(2, 2);
+        frameBuffer.setPixel(0, 1, new Color(510, 0, 0));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the bottom row comes first, with colors that are not clamped
+        frameBuffer.writeToPfm("frameBuffer");
+        try (DataInputStream pfm = new DataInputStream(
+                new FileInputStream(ImageWriter.FOLDER_PATH + "/frameBuffer.pfm"))) {
+            String header = "PF\n2 2\n-1.0\n";
+            byte[] bytes = new byte[header.length()];
+            pfm.readFully(bytes);
+            assertEquals(header, new String(bytes), "wrong pfm header");
+            assertEquals(2f, Float.intBitsToFloat(Integer.reverseBytes(pfm.readInt())), "wrong pfm red");
+        }
+    }
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#resolveSampleMap(ImageWriter)}.
+     */
+    @Test
+    void testResolveSampleMap() throws IOException {
+        FrameBuffer frameBuffer = new FrameBuffer(2, 1);
+        frameBuffer.setPixel(0, 0, new Color(10, 20, 30), 4);
+        frameBuffer.setPixel(1, 0, new Color(10, 20, 30), 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the mean of a pixel set with several samples keeps its color
+        assertEquals(4, frameBuffer.getSamples(0, 0), "wrong amount of samples");
+        assertEquals(20, frameBuffer.getPixel(0, 0).getGreen(), 1e-10, "wrong mean color");
+
+        // TC02: the most sampled pixel is white
+        ImageWriter imageWriter = new ImageWriter("sampleMap", 2, 1);
+        frameBuffer.resolveSampleMap(imageWriter);
+        imageWriter.writeToImage();
+        BufferedImage png = ImageIO.read(new File(ImageWriter.FOLDER_PATH + "/sampleMap.png"));
+        assertEquals(0xFFFFFF, png.getRGB(0, 0) & 0xFFFFFF, "most sampled pixel must be white");
+        assertEquals(0x7F7F7F, png.getRGB(1, 0) & 0xFFFFFF, "wrong gray of half the samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: pixel without samples
+        assertThrows(IllegalArgumentException.class, () -> frameBuffer.setPixel(0, 0, Color.BLACK, 0),
+                "pixel without samples must throw");
+    }
+}
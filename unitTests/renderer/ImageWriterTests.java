@@ -3,6 +3,15 @@ package renderer;
 import org.junit.jupiter.api.Test;
 import primitives.Color;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @author Efrat Roth and Hadassah Stulman
  */
@@ -42,4 +51,41 @@ class ImageWriterTests {
         image.writeToImage();
     }
 
-}
\ No newline at end of file
+    /**
+     * Test method for {@link renderer.ImageWriter#writeToImageParallel()} and {@link renderer.ImageWriter#writeToPpm()}.
+     */
+    @Test
+    void testWriteRawAndParallel() throws IOException {
+        // an image big enough for several compressed bands
+        int nX = 300, nY = 400;
+        ImageWriter image = new ImageWriter("parallelImage", nX, nY);
+        for (int j = 0; j < nX; j++)
+            for (int i = 0; i < nY; i++)
+                image.writePixel(j, i, new Color(j % 256, i % 256, (i * j) % 256));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the parallel png has the same pixels
+        image.writeToImageParallel();
+        BufferedImage png = ImageIO.read(new File(ImageWriter.FOLDER_PATH + "/parallelImage.png"));
+        assertEquals(nX, png.getWidth(), "wrong width of parallel png");
+        assertEquals(nY, png.getHeight(), "wrong height of parallel png");
+        for (int j = 0; j < nX; j++)
+            for (int i = 0; i < nY; i++)
+                assertEquals((j % 256) << 16 | (i % 256) << 8 | (i * j) % 256, png.getRGB(j, i) & 0xFFFFFF,
+                        "wrong pixel of parallel png");
+
+        // TC02: the ppm has a header and the pixels
+        image.writeToPpm();
+        try (DataInputStream ppm = new DataInputStream(
+                new FileInputStream(ImageWriter.FOLDER_PATH + "/parallelImage.ppm"))) {
+            String header = "P6\n300 400\n255\n";
+            byte[] bytes = new byte[header.length()];
+            ppm.readFully(bytes);
+            assertEquals(header, new String(bytes), "wrong ppm header");
+            // the second pixel of the first row
+            ppm.skipBytes(3);
+            assertEquals(1, ppm.readUnsignedByte(), "wrong red of ppm pixel");
+            assertEquals(0, ppm.readUnsignedByte(), "wrong green of ppm pixel");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing PngStreamWriter
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class PngStreamWriterTests {
+
+    /**
+     * Reads back an image from the images directory
+     *
+     * @param imageName the name of the png file
+     * @return the image
+     * @throws IOException if the file can't be read
+     */
+    private static BufferedImage read(String imageName) throws IOException {
+        return ImageIO.read(new File(ImageWriter.FOLDER_PATH + '/' + imageName + ".png"));
+    }
+
+    /**
+     * Test method for {@link renderer.PngStreamWriter#writeRows(int[])}.
+     */
+    @Test
+    void testWriteRows() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: rows written in bands are read back as a whole image
+        PngStreamWriter writer = new PngStreamWriter("streamTest", 3, 4);
+        writer.writeRows(new int[]{0xFF0000, 0x00FF00, 0x0000FF, 0x123456, 0x654321, 0xABCDEF});
+        writer.writeRows(new int[]{0x000000, 0xFFFFFF, 0x808080, 0x010203, 0x040506, 0x070809});
+        BufferedImage image = read("streamTest");
+        assertEquals(3, image.getWidth(), "wrong image width");
+        assertEquals(4, image.getHeight(), "wrong image height");
+        assertEquals(0x0000FF, image.getRGB(2, 0) & 0xFFFFFF, "wrong pixel in first band");
+        assertEquals(0x808080, image.getRGB(2, 2) & 0xFFFFFF, "wrong pixel in second band");
+        assertEquals(0x070809, image.getRGB(2, 3) & 0xFFFFFF, "wrong pixel in last row");
+
+        // TC02: closing before the last row fills the rest with black
+        writer = new PngStreamWriter("streamTestPartial", 2, 3);
+        writer.writeRows(new int[]{0xFFFFFF, 0xFFFFFF});
+        writer.close();
+        image = read("streamTestPartial");
+        assertEquals(0xFFFFFF, image.getRGB(1, 0) & 0xFFFFFF, "wrong written pixel");
+        assertEquals(0, image.getRGB(1, 2) & 0xFFFFFF, "unwritten pixel must be black");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: partial row
+        PngStreamWriter partial = new PngStreamWriter("streamTestRows", 2, 1);
+        assertThrows(IllegalArgumentException.class, () -> partial.writeRows(new int[]{0}),
+                "partial row must throw");
+
+        // TC04: rows beyond the end of the image
+        assertThrows(IllegalArgumentException.class, () -> partial.writeRows(new int[]{0, 0, 0, 0}),
+                "rows beyond the image must throw");
+        partial.close();
+    }
+}
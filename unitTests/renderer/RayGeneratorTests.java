@@ -0,0 +1,79 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing RayGenerator
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class RayGeneratorTests {
+
+    /**
+     * camera for the expected rays
+     */
+    private final Camera camera = new Camera(new Point(1, 2, 3), new Vector(0, 0, -1), new Vector(0, 1, 0))
+            .setVPDistance(10).setVPSize(6, 4);
+
+    /**
+     * generator of the camera's view plane of 3 x 2 pixels
+     */
+    private final RayGenerator generator = new RayGenerator(new Point(1, 2, 3), new Point(1, 2, -7),
+            new Vector(1, 0, 0), new Vector(0, 1, 0), 6, 4, 3, 2);
+
+    /**
+     * Test method for {@link renderer.RayGenerator#ray(double, double)}.
+     */
+    @Test
+    void testRay() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: rays through the centers of the pixels are the rays of the camera
+        for (int i = 0; i < 2; ++i)
+            for (int j = 0; j < 3; ++j)
+                assertEquals(camera.constructRay(3, 2, j, i), generator.ray(j, i), "wrong ray of pixel");
+
+        // TC02: ray through a corner of a pixel
+        assertEquals(new Ray(new Point(1, 2, 3), new Vector(-3, 2, -10)), generator.ray(-0.5, -0.5),
+                "wrong ray through the top left corner");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: ray through the center of the view plane
+        assertEquals(new Ray(new Point(1, 2, 3), new Vector(0, 0, -1)), generator.ray(1, 0.5),
+                "wrong ray through the center");
+    }
+
+    /**
+     * Test method for {@link renderer.RayGenerator#fillTile(TileManager.Tile, double[], double[], double[])}.
+     */
+    @Test
+    void testFillTile() {
+        double[] xs = new double[4], ys = new double[4], zs = new double[4];
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: directions of the pixels of a tile, row after row
+        generator.fillTile(new TileManager.Tile(1, 0, 3, 2), xs, ys, zs);
+        assertArrayEquals(new double[]{0, 2, 0, 2}, xs, 1e-10, "wrong x coordinates");
+        assertArrayEquals(new double[]{1, 1, -1, -1}, ys, 1e-10, "wrong y coordinates");
+        assertArrayEquals(new double[]{-10, -10, -10, -10}, zs, 1e-10, "wrong z coordinates");
+
+        // =============== Boundary Values Tests ==================
+        // TC02: the directions don't depend on the tile, they are exactly the directions of the single rays
+        RayGenerator odd = new RayGenerator(new Point(1, 2, 3), new Point(1.1, 2.3, -7), new Vector(1, 0, 0),
+                new Vector(0, 1, 0), 3.7, 2.9, 37, 23);
+        double[] tx = new double[35], ty = new double[35], tz = new double[35];
+        odd.fillTile(new TileManager.Tile(29, 11, 36, 16), tx, ty, tz);
+        for (int i = 11, index = 0; i < 16; ++i)
+            for (int j = 29; j < 36; ++j, ++index) {
+                Vector dir = odd.ray(j, i).getDir();
+                Vector tileDir = new Vector(tx[index], ty[index], tz[index]).normalize();
+                assertEquals(0, dir.getX() - tileDir.getX(), "tile direction differs from the single ray");
+                assertEquals(0, dir.getY() - tileDir.getY(), "tile direction differs from the single ray");
+                assertEquals(0, dir.getZ() - tileDir.getZ(), "tile direction differs from the single ray");
+            }
+    }
+}
@@ -1,16 +1,24 @@
 package renderer;
 
+import geometries.BoundingBox;
+import geometries.Cylinder;
+import geometries.Plane;
 import geometries.Sphere;
 import geometries.Triangle;
 import lighting.AmbientLight;
+import lighting.PointLight;
 import org.junit.jupiter.api.Test;
 import primitives.Color;
 import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
+import primitives.Ray;
 import primitives.Vector;
 import scene.Scene;
 
 import static java.awt.Color.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test rendering a basic image
@@ -83,6 +91,65 @@ public class RenderTests {
         camera.writeToImage();
     }
 
+    /**
+     * Builds a scene of bounded and unbounded geometries with a light, for the bounding boxes test
+     *
+     * @param boundingBoxes the bounding box test flag of the scene
+     * @return the scene
+     */
+    private static Scene boundingBoxesScene(boolean boundingBoxes) {
+        Scene scene = new Scene.SceneBuilder("Bounding boxes scene").setBoundingBoxes(boundingBoxes)
+                .setAmbientLight(new AmbientLight(new Color(WHITE), new Double3(0.1))).build();
+        Material material = new Material().setKd(0.5).setKs(0.5).setShininess(30);
+        scene.geometries.add(
+                new Sphere(new Point(-40, 20, -150), 30).setEmission(new Color(BLUE)).setMaterial(material),
+                new Sphere(new Point(40, -10, -120), 20).setEmission(new Color(RED))
+                        .setMaterial(new Material().setKd(0.3).setKt(0.5)),
+                new Triangle(new Point(-100, -60, -200), new Point(100, -60, -200), new Point(0, 80, -250))
+                        .setEmission(new Color(GREEN)).setMaterial(material),
+                new Cylinder(new Ray(new Point(0, -50, -130), new Vector(1, 2, -1)), 10, 60)
+                        .setEmission(new Color(YELLOW)).setMaterial(material),
+                new Plane(new Point(0, -60, 0), new Vector(0, 1, 0)).setMaterial(material));
+        scene.lights.add(new PointLight(new Color(500, 400, 300), new Point(60, 100, -50)));
+        return scene;
+    }
+
+    /**
+     * Test that the bounding box test of a scene doesn't change its image
+     */
+    @Test
+    public void boundingBoxesRenderTest() {
+        FrameBuffer[] images = new FrameBuffer[2];
+        for (int i = 0; i < 2; ++i)
+            images[i] = new Camera(Point.ZERO, new Vector(0, 0, -1), new Vector(0, 1, 0)) //
+                    .setVPDistance(100).setVPSize(200, 200) //
+                    .setImageWriter(new ImageWriter("bounding boxes test", 100, 100)) //
+                    .setRayTracer(new RayTracerBasic(boundingBoxesScene(i == 1))).setDebugPrint(0) //
+                    .renderImage().getFrameBuffer();
+        for (int y = 0; y < 100; ++y)
+            for (int x = 0; x < 100; ++x) {
+                Color expected = images[0].getPixel(x, y), actual = images[1].getPixel(x, y);
+                assertEquals(expected.getRed(), actual.getRed(), "bounding boxes changed the image");
+                assertEquals(expected.getGreen(), actual.getGreen(), "bounding boxes changed the image");
+                assertEquals(expected.getBlue(), actual.getBlue(), "bounding boxes changed the image");
+            }
+
+        // a cylinder has no intersections yet, so its box is checked against the rims of its bases
+        Ray axis = new Ray(new Point(0, -50, -130), new Vector(1, 2, -1));
+        BoundingBox box = new Cylinder(axis, 10, 60).getBoundingBox();
+        Vector u = axis.getDir().crossProduct(new Vector(0, 0, 1)).normalize();
+        Vector w = axis.getDir().crossProduct(u);
+        for (Point center : new Point[]{axis.getP0(), axis.getPoint(60)})
+            for (int k = 0; k < 36; ++k) {
+                double angle = Math.PI * k / 18;
+                Point rim = center.add(u.scale(10 * Math.cos(angle))).add(w.scale(10 * Math.sin(angle)));
+                assertTrue(rim.getX() >= box.getMin().getX() - 1e-9 && rim.getX() <= box.getMax().getX() + 1e-9
+                        && rim.getY() >= box.getMin().getY() - 1e-9 && rim.getY() <= box.getMax().getY() + 1e-9
+                        && rim.getZ() >= box.getMin().getZ() - 1e-9 && rim.getZ() <= box.getMax().getZ() + 1e-9,
+                        "cylinder box must enclose its bases");
+            }
+    }
+
     /**
      * Test for XML based scene - for bonus
      */
@@ -0,0 +1,93 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing SamplePatterns
+ *
+ * @author Efrat Roth and Hadassah Stulman
+ */
+class SamplePatternsTests {
+
+    /**
+     * Test method for {@link renderer.SamplePatterns#fill(int, long, double[])}.
+     */
+    @Test
+    void testFill() {
+        int count = 16;
+        double[] offsets = new double[2 * count];
+        double[] again = new double[2 * count];
+
+        // ============ Equivalence Partitions Tests ==============
+        for (SamplePatterns pattern : SamplePatterns.values()) {
+            // TC01: all the samples are inside the pixel
+            pattern.fill(count, 12345, offsets);
+            for (double offset : offsets)
+                assertTrue(offset >= 0 && offset < 1, pattern + " sample out of the pixel");
+
+            // TC02: the same seed gives the same samples
+            pattern.fill(count, 12345, again);
+            assertArrayEquals(offsets, again, pattern + " must be deterministic");
+        }
+
+        // TC03: stratified patterns have a sample in every cell of the 4 x 4 grid
+        for (SamplePatterns pattern : new SamplePatterns[]{SamplePatterns.GRID, SamplePatterns.JITTERED,
+                SamplePatterns.SOBOL}) {
+            pattern.fill(count, 777, offsets);
+            boolean[] cells = new boolean[count];
+            for (int i = 0; i < count; ++i)
+                cells[(int) (offsets[2 * i] * 4) + 4 * (int) (offsets[2 * i + 1] * 4)] = true;
+            for (boolean cell : cells)
+                assertTrue(cell, pattern + " must have a sample in every cell");
+        }
+
+        // TC04: random patterns differ between pixels
+        SamplePatterns.HALTON.fill(count, 1, offsets);
+        SamplePatterns.HALTON.fill(count, 2, again);
+        assertFalse(Arrays.equals(offsets, again), "pixels must have different samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC05: blue noise of too many samples falls back to the jittered pattern
+        int many = SamplePatterns.MAX_BLUE_NOISE + 1;
+        double[] blue = new double[2 * many];
+        double[] jittered = new double[2 * many];
+        SamplePatterns.BLUE_NOISE.fill(many, 5, blue);
+        SamplePatterns.JITTERED.fill(many, 5, jittered);
+        assertArrayEquals(jittered, blue, "wrong samples of a large blue noise pattern");
+
+        // TC06: an amount that is not a square, and the first samples of a pattern, cover the whole pixel
+        for (SamplePatterns pattern : new SamplePatterns[]{SamplePatterns.GRID, SamplePatterns.JITTERED}) {
+            double[] part = new double[2 * 64];
+            for (int n : new int[]{10, 64}) {
+                // the first 4 samples of 64, and all the 10 samples of a 4 x 4 grid
+                int used = n == 64 ? 4 : n;
+                double sumX = 0, sumY = 0;
+                for (long seed = 0; seed < 100; ++seed) {
+                    pattern.fill(n, seed, part);
+                    boolean[] cells = new boolean[64];
+                    int side = n == 64 ? 8 : 4;
+                    for (int i = 0; i < used; ++i) {
+                        sumX += part[2 * i];
+                        sumY += part[2 * i + 1];
+                        int cell = (int) (part[2 * i] * side) + side * (int) (part[2 * i + 1] * side);
+                        assertFalse(cells[cell], pattern + " samples must be in different cells");
+                        cells[cell] = true;
+                    }
+                }
+                assertEquals(0.5, sumX / (100 * used), 0.1, pattern + " samples must cover the pixel's width");
+                assertEquals(0.5, sumY / (100 * used), 0.1, pattern + " samples must cover the pixel's height");
+            }
+        }
+
+        // TC07: blue noise samples are spread - no two samples are closer than a small distance
+        SamplePatterns.BLUE_NOISE.fill(count, 9, offsets);
+        for (int i = 0; i < count; ++i)
+            for (int j = 0; j < i; ++j)
+                assertTrue(Math.hypot(offsets[2 * i] - offsets[2 * j], offsets[2 * i + 1] - offsets[2 * j + 1]) > 0.02,
+                        "blue noise samples too close");
+    }
+}